@@ -8,41 +8,12 @@ import java.util.regex.Pattern;
 
 import static com.microsoft.playwright.assertions.PlaywrightAssertions.assertThat;
 
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SharedBrowser
 public class BlogTest {
 
-    private Playwright playwright;
-    private Browser browser;
-    private BrowserContext context;
-    private Page page;
-
-    @BeforeAll
-    void setupAll() {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-            .setHeadless(true));
-    }
-
-    @AfterAll
-    void teardownAll() {
-        browser.close();
-        playwright.close();
-    }
-
-    @BeforeEach
-    void setup() {
-        context = browser.newContext();
-        page = context.newPage();
-    }
-
-    @AfterEach
-    void teardown() {
-        context.close();
-    }
-
-    @Test
+    @BrowserMatrix
     @DisplayName("ホームページからBlogページに遷移できること")
-    void shouldNavigateToBlogPage() {
+    void shouldNavigateToBlogPage(Page page) {
         // 1. ホームページを開く
         page.navigate("https://www.arrangility.com/");
 
@@ -66,7 +37,7 @@ public class BlogTest {
 
     @Test
     @DisplayName("Blogページにブログ記事一覧が表示されること")
-    void shouldDisplayBlogArticles() {
+    void shouldDisplayBlogArticles(Page page) {
         // ホームページを開く
         page.navigate("https://www.arrangility.com/");
 
@@ -82,7 +53,7 @@ public class BlogTest {
 
     @Test
     @DisplayName("ナビゲーションにBlogリンクが存在すること")
-    void shouldHaveBlogLinkInNavigation() {
+    void shouldHaveBlogLinkInNavigation(Page page) {
         page.navigate("https://www.arrangility.com/");
 
         // ナビゲーション内のBlogリンクを確認
@@ -98,7 +69,7 @@ public class BlogTest {
 
     @Test
     @DisplayName("ナビゲーションの構造をARIA Snapshotで検証")
-    void shouldMatchNavigationAriaSnapshot() {
+    void shouldMatchNavigationAriaSnapshot(Page page) {
         page.navigate("https://www.arrangility.com/");
 
         // ナビゲーションのリスト構造をARIA Snapshotで検証
@@ -0,0 +1,24 @@
+package com.example;
+
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+
+import java.util.Locale;
+
+public enum BrowserEngine {
+    CHROMIUM,
+    FIREFOX,
+    WEBKIT;
+
+    public BrowserType type(Playwright playwright) {
+        return switch (this) {
+            case CHROMIUM -> playwright.chromium();
+            case FIREFOX -> playwright.firefox();
+            case WEBKIT -> playwright.webkit();
+        };
+    }
+
+    public String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
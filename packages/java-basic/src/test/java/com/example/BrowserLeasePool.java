@@ -0,0 +1,161 @@
+package com.example;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ブラウザエンジンごとに Playwright + Browser を最大 browser.pool.size 個まで起動し、テスト間で貸し出す。
+// Playwright は同時に1スレッドからしか使えないため、リースを借りている間だけそのインスタンスを使う。
+final class BrowserLeasePool implements ExtensionContext.Store.CloseableResource {
+    static final int SIZE = Integer.getInteger("browser.pool.size", Runtime.getRuntime().availableProcessors());
+    private static final long POLL_MS = 100;
+
+    private final Map<BrowserEngine, Slots> slots = new ConcurrentHashMap<>();
+    private final ExecutorService prewarmer = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "browser-prewarm");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    record Lease(BrowserEngine engine, Playwright playwright, Browser browser) {
+    }
+
+    private static final class Slots {
+        final BlockingQueue<Lease> idle = new LinkedBlockingQueue<>();
+        final Queue<Lease> all = new ConcurrentLinkedQueue<>();
+        final AtomicInteger launched = new AtomicInteger();
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicLong launchNanos = new AtomicLong();
+        final AtomicLong waitNanos = new AtomicLong();
+
+        boolean reserve() {
+            int current;
+            do {
+                current = launched.get();
+                if (current >= SIZE) {
+                    return false;
+                }
+            } while (!launched.compareAndSet(current, current + 1));
+            return true;
+        }
+    }
+
+    static BrowserLeasePool get(ExtensionContext context) {
+        return context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL)
+                .getOrComputeIfAbsent(BrowserLeasePool.class, key -> new BrowserLeasePool(), BrowserLeasePool.class);
+    }
+
+    // まだ1つも起動していないエンジンのブラウザをバックグラウンドで起動しておく
+    void prewarm(BrowserEngine engine) {
+        Slots engineSlots = slots(engine);
+        if (engineSlots.launched.get() > 0 || !engineSlots.reserve()) {
+            return;
+        }
+        engineSlots.pending.incrementAndGet();
+        prewarmer.execute(() -> {
+            try {
+                engineSlots.idle.add(launch(engine, engineSlots));
+            } catch (RuntimeException e) {
+                engineSlots.launched.decrementAndGet();
+                System.err.println("[BrowserLeasePool] Failed to prewarm " + engine.label() + ": " + e.getMessage());
+            } finally {
+                engineSlots.pending.decrementAndGet();
+            }
+        });
+    }
+
+    // 空きがなければ、起動中のブラウザを待つか上限まで新しく起動する。起動に失敗した先読みは借り手が起動し直す。
+    Lease acquire(BrowserEngine engine) {
+        Slots engineSlots = slots(engine);
+        long start = System.nanoTime();
+        try {
+            while (true) {
+                Lease lease = engineSlots.idle.poll();
+                if (lease != null) {
+                    return lease;
+                }
+                if (engineSlots.pending.get() == 0 && engineSlots.reserve()) {
+                    try {
+                        return launch(engine, engineSlots);
+                    } catch (RuntimeException e) {
+                        engineSlots.launched.decrementAndGet();
+                        throw e;
+                    }
+                }
+                lease = engineSlots.idle.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (lease != null) {
+                    return lease;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a " + engine.label() + " browser", e);
+        } finally {
+            engineSlots.waitNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    void release(Lease lease) {
+        slots(lease.engine()).idle.add(lease);
+    }
+
+    long launchMillis(BrowserEngine engine) {
+        return TimeUnit.NANOSECONDS.toMillis(slots(engine).launchNanos.get());
+    }
+
+    // テストがブラウザの準備を待った時間（先読みが間に合えばほぼ0）
+    long waitMillis(BrowserEngine engine) {
+        return TimeUnit.NANOSECONDS.toMillis(slots(engine).waitNanos.get());
+    }
+
+    private Slots slots(BrowserEngine engine) {
+        return slots.computeIfAbsent(engine, e -> new Slots());
+    }
+
+    private static Lease launch(BrowserEngine engine, Slots engineSlots) {
+        long start = System.nanoTime();
+        Playwright playwright = Playwright.create();
+        try {
+            Browser browser = engine.type(playwright).launch(new BrowserType.LaunchOptions().setHeadless(true));
+            Lease lease = new Lease(engine, playwright, browser);
+            engineSlots.all.add(lease);
+            return lease;
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        } finally {
+            engineSlots.launchNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        prewarmer.shutdown();
+        prewarmer.awaitTermination(30, TimeUnit.SECONDS);
+        slots.forEach((engine, engineSlots) -> {
+            System.out.printf("[BrowserLeasePool] %s: %d browser(s), launch %d ms, tests waited %d ms%n",
+                    engine.label(), engineSlots.all.size(), launchMillis(engine), waitMillis(engine));
+            for (Lease lease : engineSlots.all) {
+                try {
+                    lease.playwright().close();
+                } catch (PlaywrightException e) {
+                    System.err.println("[BrowserLeasePool] Failed to close Playwright: " + e.getMessage());
+                }
+            }
+        });
+    }
+}
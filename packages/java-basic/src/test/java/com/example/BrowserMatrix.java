@@ -0,0 +1,19 @@
+package com.example;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// @Test の代わりに付けると、指定したブラウザエンジンごとにテストを1回ずつ実行する。
+// -Dbrowser.matrix=chromium,webkit で実行するエンジンを上書きできる。
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@TestTemplate
+@ExtendWith({BrowserMatrixExtension.class, SharedBrowserExtension.class})
+public @interface BrowserMatrix {
+    BrowserEngine[] value() default {BrowserEngine.CHROMIUM, BrowserEngine.FIREFOX, BrowserEngine.WEBKIT};
+}
@@ -0,0 +1,119 @@
+package com.example;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// @BrowserMatrix のテストをエンジンごとに展開し、エンジン別の件数と実行時間を最後にまとめて出力する
+public class BrowserMatrixExtension implements TestTemplateInvocationContextProvider {
+
+    @Override
+    public boolean supportsTestTemplate(ExtensionContext context) {
+        return context.getRequiredTestMethod().isAnnotationPresent(BrowserMatrix.class);
+    }
+
+    @Override
+    public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+        List<BrowserEngine> engines = engines(context.getRequiredTestMethod().getAnnotation(BrowserMatrix.class));
+        BrowserLeasePool pool = BrowserLeasePool.get(context);
+        engines.forEach(pool::prewarm);
+        Report report = Report.get(context);
+        return engines.stream().map(engine -> new TestTemplateInvocationContext() {
+            @Override
+            public String getDisplayName(int invocationIndex) {
+                return "[" + engine.label() + "]";
+            }
+
+            @Override
+            public List<Extension> getAdditionalExtensions() {
+                return List.of(new Invocation(engine, report));
+            }
+        });
+    }
+
+    static List<BrowserEngine> engines(BrowserMatrix matrix) {
+        String override = System.getProperty("browser.matrix");
+        if (override == null || override.isBlank()) {
+            return List.of(matrix.value());
+        }
+        return Arrays.stream(override.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> BrowserEngine.valueOf(name.toUpperCase(Locale.ROOT)))
+                .toList();
+    }
+
+    private record Invocation(BrowserEngine engine, Report report)
+            implements BeforeEachCallback, BeforeTestExecutionCallback, AfterTestExecutionCallback {
+        private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(Invocation.class);
+
+        @Override
+        public void beforeEach(ExtensionContext context) {
+            SharedBrowserExtension.selectEngine(context, engine);
+        }
+
+        @Override
+        public void beforeTestExecution(ExtensionContext context) {
+            context.getStore(NAMESPACE).put("start", System.nanoTime());
+        }
+
+        @Override
+        public void afterTestExecution(ExtensionContext context) {
+            long start = context.getStore(NAMESPACE).remove("start", long.class);
+            report.record(engine, System.nanoTime() - start, context.getExecutionException().isPresent());
+        }
+    }
+
+    private static final class Report implements ExtensionContext.Store.CloseableResource {
+        private final Map<BrowserEngine, Result> results = new ConcurrentSkipListMap<>();
+        private final BrowserLeasePool pool;
+
+        private static final class Result {
+            final AtomicInteger tests = new AtomicInteger();
+            final AtomicInteger failed = new AtomicInteger();
+            final AtomicLong nanos = new AtomicLong();
+        }
+
+        private Report(BrowserLeasePool pool) {
+            this.pool = pool;
+        }
+
+        static Report get(ExtensionContext context) {
+            BrowserLeasePool pool = BrowserLeasePool.get(context);
+            return context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL)
+                    .getOrComputeIfAbsent(Report.class, key -> new Report(pool), Report.class);
+        }
+
+        void record(BrowserEngine engine, long nanos, boolean failed) {
+            Result result = results.computeIfAbsent(engine, e -> new Result());
+            result.tests.incrementAndGet();
+            result.nanos.addAndGet(nanos);
+            if (failed) {
+                result.failed.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void close() {
+            results.forEach((engine, result) -> System.out.printf(
+                    "[BrowserMatrix] %-8s %d test(s), %d failed, tests %d ms, launch %d ms (waited %d ms)%n",
+                    engine.label(), result.tests.get(), result.failed.get(),
+                    TimeUnit.NANOSECONDS.toMillis(result.nanos.get()),
+                    pool.launchMillis(engine), pool.waitMillis(engine)));
+        }
+    }
+}
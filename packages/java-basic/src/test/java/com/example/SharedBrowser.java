@@ -0,0 +1,16 @@
+package com.example;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// テストクラスに付けると、テストメソッドの Page / BrowserContext 引数に共有ブラウザのコンテキストが渡される
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SharedBrowserExtension.class)
+public @interface SharedBrowser {
+    BrowserEngine value() default BrowserEngine.CHROMIUM;
+}
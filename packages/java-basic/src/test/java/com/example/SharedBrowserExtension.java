@@ -0,0 +1,125 @@
+package com.example;
+
+import com.example.support.PerformanceBudget;
+import com.example.support.ResourcePolicy;
+import com.example.support.SiteSnapshot;
+import com.example.support.WebVitals;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+// テストごとに BrowserLeasePool からブラウザを借りて新しいコンテキストを作り、終了時に閉じて返却する。
+// @BrowserMatrix のエンジンのブラウザは、他のテストの実行中に先に起動しておく。
+public class SharedBrowserExtension implements ParameterResolver, BeforeAllCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SharedBrowserExtension.class);
+    static final SiteSnapshot SNAPSHOT = new SiteSnapshot("arrangility", "https://www.arrangility.com/");
+    // -Dweb.vitals.budget.<指標>=<上限>（例: -Dweb.vitals.budget.lcp=2500）。指標名は java-pom-bdd の @budget-<指標> と同じ
+    private static final PerformanceBudget BUDGET = budgetFromSystemProperties();
+
+    private record TestBrowser(BrowserLeasePool.Lease lease, BrowserContext context, Page page) {
+    }
+
+    // ルートのストアが閉じられるとき（全テストの終了後）に HAR を統合し、Web Vitals の集計を出力する
+    private static final class RunEnd implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            SNAPSHOT.finishRecording();
+            String report = WebVitals.report();
+            if (!report.isEmpty()) {
+                System.out.println(report);
+            }
+        }
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext extensionContext) {
+        BrowserLeasePool pool = BrowserLeasePool.get(extensionContext);
+        for (Method method : AnnotationSupport.findAnnotatedMethods(extensionContext.getRequiredTestClass(),
+                BrowserMatrix.class, HierarchyTraversalMode.TOP_DOWN)) {
+            BrowserMatrixExtension.engines(method.getAnnotation(BrowserMatrix.class)).forEach(pool::prewarm);
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        Class<?> type = parameterContext.getParameter().getType();
+        return type == Page.class || type == BrowserContext.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        TestBrowser testBrowser = extensionContext.getStore(NAMESPACE)
+                .getOrComputeIfAbsent(TestBrowser.class, key -> open(extensionContext), TestBrowser.class);
+        return parameterContext.getParameter().getType() == Page.class ? testBrowser.page() : testBrowser.context();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext extensionContext) {
+        TestBrowser testBrowser = extensionContext.getStore(NAMESPACE).remove(TestBrowser.class, TestBrowser.class);
+        if (testBrowser == null) {
+            return;
+        }
+        List<String> overBudget;
+        try {
+            // テストは並列に実行されるため、標準出力ではなくテストに紐づくレポートエントリとして出力する
+            extensionContext.publishReportEntry("resources", ResourcePolicy.stats(testBrowser.context()).drain());
+            overBudget = BUDGET.violations(WebVitals.finish(testBrowser.context()));
+            testBrowser.context().close();
+        } finally {
+            BrowserLeasePool.get(extensionContext).release(testBrowser.lease());
+        }
+        if (!overBudget.isEmpty()) {
+            throw new AssertionError("Web performance budget exceeded:\n  " + String.join("\n  ", overBudget));
+        }
+    }
+
+    // @BrowserMatrix の各実行はクラスの指定より優先される
+    static void selectEngine(ExtensionContext extensionContext, BrowserEngine engine) {
+        extensionContext.getStore(NAMESPACE).put(BrowserEngine.class, engine);
+    }
+
+    static BrowserEngine engine(ExtensionContext extensionContext) {
+        BrowserEngine selected = extensionContext.getStore(NAMESPACE).get(BrowserEngine.class, BrowserEngine.class);
+        if (selected != null) {
+            return selected;
+        }
+        SharedBrowser annotation = extensionContext.getRequiredTestClass().getAnnotation(SharedBrowser.class);
+        return annotation != null ? annotation.value() : BrowserEngine.CHROMIUM;
+    }
+
+    private static TestBrowser open(ExtensionContext extensionContext) {
+        extensionContext.getRoot().getStore(ExtensionContext.Namespace.GLOBAL)
+                .getOrComputeIfAbsent(RunEnd.class, key -> new RunEnd(), RunEnd.class);
+        BrowserLeasePool.Lease lease = BrowserLeasePool.get(extensionContext).acquire(engine(extensionContext));
+        try {
+            BrowserContext context = lease.browser().newContext();
+            SNAPSHOT.attach(context);
+            ResourcePolicy.defaults().apply(context);
+            WebVitals.install(context);
+            return new TestBrowser(lease, context, context.newPage());
+        } catch (RuntimeException e) {
+            BrowserLeasePool.get(extensionContext).release(lease);
+            throw e;
+        }
+    }
+
+    private static PerformanceBudget budgetFromSystemProperties() {
+        PerformanceBudget budget = new PerformanceBudget();
+        for (WebVitals.Metric metric : WebVitals.Metric.values()) {
+            String limit = System.getProperty("web.vitals.budget." + metric.key());
+            if (limit != null) {
+                budget.set(metric, limit);
+            }
+        }
+        return budget;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.bench;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+// A headless Chromium page showing the static ShopTodo catalog, one per benchmark thread
+// because Playwright objects must stay on the thread that created them.
+@State(Scope.Thread)
+public class CatalogState {
+    @Param({"12", "120"})
+    public int catalogSize;
+
+    public Page page;
+
+    private Playwright playwright;
+
+    @Setup(Level.Trial)
+    public void open() {
+        playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
+        page = browser.newPage();
+        page.setContent(catalogHtml());
+        page.evaluate("size => window.renderCatalog(size)", catalogSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        playwright.close();
+    }
+
+    private static String catalogHtml() {
+        try (InputStream in = CatalogState.class.getResourceAsStream("/shoptodo-catalog.html")) {
+            if (in == null) {
+                throw new IllegalStateException("shoptodo-catalog.html is missing from the classpath");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
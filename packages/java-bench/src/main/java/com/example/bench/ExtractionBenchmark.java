@@ -0,0 +1,46 @@
+package com.example.bench;
+
+import com.example.pages.CatalogPage;
+import com.example.pages.ProductRecord;
+import com.microsoft.playwright.Locator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Reading every product card: one evaluateAll() for the whole catalog vs. one textContent() round trip per card.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtractionBenchmark {
+
+    @Benchmark
+    public boolean isSortedByPriceAsc(CatalogState state) {
+        return new CatalogPage(state.page).isSortedByPriceAsc();
+    }
+
+    @Benchmark
+    public List<ProductRecord> products(CatalogState state) {
+        return new CatalogPage(state.page).products();
+    }
+
+    // The previous CatalogPage implementation, kept as the baseline.
+    @Benchmark
+    public List<Integer> perCardPrices(CatalogState state) {
+        List<Integer> prices = new ArrayList<>();
+        for (Locator card : state.page.locator("[class*='MuiCard-root']").all()) {
+            String priceText = card.locator("text=/¥[0-9,]+/").first().textContent();
+            prices.add(Integer.parseInt(priceText.replace("¥", "").replace(",", "")));
+        }
+        return prices;
+    }
+}
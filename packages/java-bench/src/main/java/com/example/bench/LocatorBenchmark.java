@@ -0,0 +1,37 @@
+package com.example.bench;
+
+import com.example.pages.CatalogPage;
+import com.example.pages.components.CartComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// What every step pays today: a fresh page object (and its locator graph) plus one count() round trip.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+
+    @Benchmark
+    public CatalogPage constructCatalogPage(CatalogState state) {
+        return new CatalogPage(state.page);
+    }
+
+    @Benchmark
+    public CartComponent constructCartComponent(CatalogState state) {
+        return new CartComponent(state.page);
+    }
+
+    @Benchmark
+    public int productCount(CatalogState state) {
+        return new CatalogPage(state.page).getProductCount();
+    }
+}
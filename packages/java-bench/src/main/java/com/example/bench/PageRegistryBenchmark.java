@@ -0,0 +1,41 @@
+package com.example.bench;
+
+import com.example.pages.CatalogPage;
+import com.example.pages.Pages;
+import com.example.pages.components.CartComponent;
+import com.example.pages.components.HeaderComponent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Page object cost of one step before (fresh page objects) and after (Pages registry). Nothing here talks to
+// the browser, so run it with -prof gc and compare gc.alloc.rate.norm (bytes per step) between the two.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageRegistryBenchmark {
+
+    @Benchmark
+    public void newPageObjectsPerStep(CatalogState state, Blackhole blackhole) {
+        blackhole.consume(new CatalogPage(state.page));
+        blackhole.consume(new CartComponent(state.page));
+        blackhole.consume(new HeaderComponent(state.page));
+    }
+
+    @Benchmark
+    public void registryPerStep(CatalogState state, Blackhole blackhole) {
+        Pages pages = Pages.of(state.page);
+        blackhole.consume(pages.catalog());
+        blackhole.consume(pages.cart());
+        blackhole.consume(pages.header());
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.bench;
+
+import com.example.pages.CatalogPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// End-to-end latency of the steps "価格（安い順）でソートする" and "商品が価格の安い順に並ぶ",
+// built the same way CatalogSteps builds them.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StepBenchmark {
+
+    @Benchmark
+    public boolean sortByPriceAndVerify(CatalogState state) {
+        new CatalogPage(state.page).sortBy("価格（安い順）");
+        boolean sorted = new CatalogPage(state.page).isSortedByPriceAsc();
+        new CatalogPage(state.page).sortBy("名前順");
+        return sorted;
+    }
+}
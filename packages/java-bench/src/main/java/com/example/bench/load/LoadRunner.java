@@ -0,0 +1,192 @@
+package com.example.bench.load;
+
+import com.example.support.DriverCache;
+import com.example.support.ShopTodo;
+import com.example.support.SiteMode;
+import com.google.gson.GsonBuilder;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Puts load on ShopTodo with -Dload.users virtual users over -Dload.browsers shared Chromium processes.
+// Open-model latency is measured from the intended arrival, so queueing for a free user is included.
+public class LoadRunner {
+    private static final Path RESULTS = Paths.get(System.getProperty("load.results", "target/load-results"));
+
+    private enum Model {
+        OPEN, CLOSED
+    }
+
+    private record Config(Model model, int users, int browsers, double rate, boolean poisson, int durationSeconds,
+                          int rampUpSeconds, long thinkMillis, String product, double actionTimeoutMs) {
+        static Config fromProperties() {
+            return new Config(
+                    Model.valueOf(System.getProperty("load.model", "closed").toUpperCase(Locale.ROOT)),
+                    Integer.getInteger("load.users", 10),
+                    Integer.getInteger("load.browsers", 2),
+                    Double.parseDouble(System.getProperty("load.rate", "1")),
+                    "poisson".equals(System.getProperty("load.arrivals", "constant")),
+                    Integer.getInteger("load.duration.seconds", 60),
+                    Integer.getInteger("load.rampup.seconds", 0),
+                    Long.getLong("load.think.ms", 0),
+                    System.getProperty("load.product", "スマートフォン"),
+                    Integer.getInteger("load.action.timeout.ms", 10000));
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("model", model.name().toLowerCase(Locale.ROOT));
+            map.put("users", users);
+            map.put("browsers", browsers);
+            if (model == Model.OPEN) {
+                map.put("rate", rate);
+                map.put("arrivals", poisson ? "poisson" : "constant");
+            } else {
+                map.put("thinkMs", thinkMillis);
+            }
+            map.put("durationSeconds", durationSeconds);
+            map.put("rampUpSeconds", rampUpSeconds);
+            map.put("siteMode", SiteMode.current().name().toLowerCase(Locale.ROOT));
+            return map;
+        }
+    }
+
+    // Intended start times of open-model iterations, handed out in order to whichever user asks next.
+    private static final class Arrivals {
+        private final double meanGapNanos;
+        private final boolean poisson;
+        private final long endNanos;
+        private long next;
+
+        Arrivals(double rate, boolean poisson, long startNanos, long endNanos) {
+            this.meanGapNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+            this.poisson = poisson;
+            this.endNanos = endNanos;
+            this.next = startNanos;
+        }
+
+        // -1 once the run is over.
+        synchronized long take() {
+            long arrival = next;
+            double gap = poisson ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos : meanGapNanos;
+            next += (long) gap;
+            return arrival < endNanos ? arrival : -1;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // The snapshot lives next to the scenarios; record it there with mvn test -Dsite.mode=record.
+        System.setProperty("site.mode", System.getProperty("site.mode", "local"));
+        System.setProperty("site.snapshots", System.getProperty("site.snapshots", "../java-pom-bdd/src/test/resources/snapshots"));
+        Config config = Config.fromProperties();
+        if (SiteMode.current() != SiteMode.LIVE && !Files.isRegularFile(ShopTodo.SNAPSHOT.har())) {
+            System.err.println("No snapshot at " + ShopTodo.SNAPSHOT.har().toAbsolutePath()
+                    + "; record it with: cd ../java-pom-bdd && mvn test -Dsite.mode=record");
+            System.exit(1);
+        }
+        DriverCache.prepare();
+        System.out.printf("[Load] %s model, %d user(s) on %d browser(s) for %d s against %s%n",
+                config.model().name().toLowerCase(Locale.ROOT), config.users(), config.browsers(),
+                config.durationSeconds(), ShopTodo.homeUrl());
+
+        try (Playwright host = Playwright.create()) {
+            List<String> endpoints = new ArrayList<>();
+            for (int i = 0; i < config.browsers(); i++) {
+                int port = freePort();
+                host.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true)
+                        .setArgs(List.of("--remote-debugging-port=" + port)));
+                endpoints.add("http://127.0.0.1:" + port);
+            }
+            run(config, endpoints);
+        }
+        // With -Dsite.mode=record the iterations' contexts are closed by now.
+        ShopTodo.SNAPSHOT.finishRecording();
+    }
+
+    private static void run(Config config, List<String> endpoints) throws Exception {
+        long rampUpNanos = TimeUnit.SECONDS.toNanos(config.rampUpSeconds());
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + rampUpNanos + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+        LoadStats stats = new LoadStats(startNanos, config.rampUpSeconds() + config.durationSeconds() + 60,
+                VirtualUser.ACTIONS);
+        Arrivals arrivals = new Arrivals(config.rate(), config.poisson(), startNanos + rampUpNanos, endNanos);
+        AtomicInteger active = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            String endpoint = endpoints.get(i % endpoints.size());
+            long userStart = startNanos + (config.users() > 1 ? rampUpNanos * i / (config.users() - 1) : 0);
+            Thread thread = new Thread(() -> {
+                try {
+                    parkUntil(userStart);
+                    active.incrementAndGet();
+                    try (VirtualUser user = new VirtualUser(endpoint, stats, config.product(), config.actionTimeoutMs())) {
+                        if (config.model() == Model.CLOSED) {
+                            while (System.nanoTime() < endNanos) {
+                                user.iterate(System.nanoTime());
+                                parkUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.thinkMillis()));
+                            }
+                        } else {
+                            for (long arrival = arrivals.take(); arrival >= 0; arrival = arrivals.take()) {
+                                parkUntil(arrival);
+                                user.iterate(arrival);
+                            }
+                        }
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                } catch (RuntimeException e) {
+                    System.err.println("[Load] Virtual user stopped: " + e.getMessage());
+                } finally {
+                    done.countDown();
+                }
+            }, "virtual-user-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        while (!done.await(10, TimeUnit.SECONDS)) {
+            System.out.printf("[Load] %d s elapsed, %d user(s) active%n",
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos), active.get());
+        }
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+
+        System.out.print(stats.table(elapsedSeconds));
+        stats.firstErrors().forEach((action, error) -> System.out.println("[Load] First " + action + " error: " + error));
+        Files.createDirectories(RESULTS);
+        String label = System.getProperty("load.label", "local");
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path result = RESULTS.resolve(label + "-" + timestamp + ".json");
+        Files.writeString(result, new GsonBuilder().setPrettyPrinting().create()
+                .toJson(stats.toJson(config.toMap(), elapsedSeconds)), StandardCharsets.UTF_8);
+        System.out.println("Results written to " + result.toAbsolutePath());
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        for (long remaining = deadlineNanos - System.nanoTime(); remaining > 0; remaining = deadlineNanos - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.bench.load;
+
+import com.example.support.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Latency per action (and for whole iterations) plus per-second completions and errors. Everything is
+// recorded lock-free from the virtual user threads; seconds past the timeline's end go to its last slot.
+final class LoadStats {
+    static final String ITERATION = "iteration";
+
+    private final long startNanos;
+    private final int seconds;
+    // Filled in the constructor and only read afterwards, so sharing it between threads is safe.
+    private final Map<String, Action> actions = new LinkedHashMap<>();
+    private final Map<String, String> firstErrors = new ConcurrentHashMap<>();
+
+    private record Action(LatencyHistogram latency, AtomicLongArray completed, AtomicLongArray errors) {
+    }
+
+    LoadStats(long startNanos, int seconds, List<String> actionNames) {
+        this.startNanos = startNanos;
+        this.seconds = Math.max(1, seconds);
+        List<String> names = new ArrayList<>(actionNames);
+        names.add(ITERATION);
+        for (String name : names) {
+            actions.put(name, new Action(new LatencyHistogram(), new AtomicLongArray(this.seconds),
+                    new AtomicLongArray(this.seconds)));
+        }
+    }
+
+    // Latency is measured from startNanos, which for open-model iterations is the intended arrival time.
+    void success(String action, long startNanos, long endNanos) {
+        Action stats = actions.get(action);
+        stats.latency().recordNanos(endNanos - startNanos);
+        stats.completed().incrementAndGet(second(endNanos));
+    }
+
+    void error(String action, long endNanos, Throwable cause) {
+        actions.get(action).errors().incrementAndGet(second(endNanos));
+        firstErrors.putIfAbsent(action, String.valueOf(cause).lines().findFirst().orElse(""));
+    }
+
+    // The first error of each action, e.g. a timeout message naming the locator.
+    Map<String, String> firstErrors() {
+        return firstErrors;
+    }
+
+    String table(double elapsedSeconds) {
+        StringBuilder table = new StringBuilder(String.format("%-12s %8s %7s %9s %9s %9s %9s %9s %8s%n",
+                "action", "count", "errors", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms", "per s"));
+        for (String name : actions.keySet()) {
+            Action stats = actions.get(name);
+            LatencyHistogram latency = stats.latency();
+            table.append(String.format("%-12s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %8.2f%n", name, latency.count(),
+                    sum(stats.errors()), latency.percentileMillis(50), latency.percentileMillis(90),
+                    latency.percentileMillis(95), latency.percentileMillis(99), latency.maxMillis(),
+                    latency.count() / Math.max(elapsedSeconds, 1e-9)));
+        }
+        return table.toString();
+    }
+
+    // Shape of target/load-results/*.json: per-action summaries and the per-second timeline.
+    Map<String, Object> toJson(Map<String, Object> config, double elapsedSeconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (String name : actions.keySet()) {
+            Action stats = actions.get(name);
+            LatencyHistogram latency = stats.latency();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", latency.count());
+            row.put("errors", sum(stats.errors()));
+            row.put("meanMs", latency.meanMillis());
+            row.put("p50Ms", latency.percentileMillis(50));
+            row.put("p90Ms", latency.percentileMillis(90));
+            row.put("p95Ms", latency.percentileMillis(95));
+            row.put("p99Ms", latency.percentileMillis(99));
+            row.put("maxMs", latency.maxMillis());
+            row.put("perSecond", latency.count() / Math.max(elapsedSeconds, 1e-9));
+            summary.put(name, row);
+        }
+        int last = Math.min(seconds, (int) Math.ceil(elapsedSeconds));
+        List<Map<String, Object>> timeline = new ArrayList<>(last);
+        for (int second = 0; second < last; second++) {
+            Map<String, Object> completed = new LinkedHashMap<>();
+            Map<String, Object> errors = new LinkedHashMap<>();
+            for (String name : actions.keySet()) {
+                completed.put(name, actions.get(name).completed().get(second));
+                errors.put(name, actions.get(name).errors().get(second));
+            }
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("second", second);
+            point.put("completed", completed);
+            point.put("errors", errors);
+            timeline.add(point);
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("config", config);
+        json.put("elapsedSeconds", elapsedSeconds);
+        json.put("actions", summary);
+        json.put("timeline", timeline);
+        json.put("firstErrors", firstErrors);
+        return json;
+    }
+
+    private int second(long nanos) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(nanos - startNanos);
+        return (int) Math.max(0, Math.min(seconds - 1, second));
+    }
+
+    private static long sum(AtomicLongArray values) {
+        long sum = 0;
+        for (int i = 0; i < values.length(); i++) {
+            sum += values.get(i);
+        }
+        return sum;
+    }
+}
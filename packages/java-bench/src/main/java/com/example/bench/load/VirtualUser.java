@@ -0,0 +1,115 @@
+package com.example.bench.load;
+
+import com.example.pages.CatalogPage;
+import com.example.pages.LoginPage;
+import com.example.pages.PageActivity;
+import com.example.pages.Pages;
+import com.example.support.ShopTodo;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+// One virtual user: its own Playwright connection over CDP to a shared browser, and a fresh context per iteration.
+final class VirtualUser implements AutoCloseable {
+    static final List<String> ACTIONS = List.of("context", "home", "login", "search", "addToCart", "checkout");
+    // Concurrent Playwright.create() calls race on the driver installation.
+    private static final Object CREATE_LOCK = new Object();
+
+    private final Playwright playwright;
+    private final Browser browser;
+    private final LoadStats stats;
+    private final String product;
+    private final double actionTimeoutMs;
+
+    VirtualUser(String cdpEndpoint, LoadStats stats, String product, double actionTimeoutMs) {
+        synchronized (CREATE_LOCK) {
+            this.playwright = Playwright.create();
+        }
+        this.browser = playwright.chromium().connectOverCDP(cdpEndpoint);
+        this.stats = stats;
+        this.product = product;
+        this.actionTimeoutMs = actionTimeoutMs;
+    }
+
+    // Runs the flow once; a failed action is counted as an error and ends the iteration.
+    void iterate(long intendedStartNanos) {
+        // Set inside the "context" action so the finally block also closes a context whose page setup failed.
+        BrowserContext[] context = new BrowserContext[1];
+        try {
+            Pages pages = action("context", () -> {
+                context[0] = browser.newContext();
+                context[0].setDefaultTimeout(actionTimeoutMs);
+                ShopTodo.SNAPSHOT.attach(context[0]);
+                Page page = context[0].newPage();
+                PageActivity.of(page);
+                return Pages.of(page);
+            });
+            CatalogPage catalog = pages.catalog();
+            action("home", () -> {
+                catalog.navigate(ShopTodo.homeUrl());
+                catalog.waitUntilLoaded(actionTimeoutMs);
+                return null;
+            });
+            action("login", () -> {
+                pages.header().clickLogin();
+                LoginPage login = pages.login();
+                login.login(ShopTodo.DEMO_USER, ShopTodo.DEMO_PASSWORD);
+                login.waitUntilClosed();
+                return null;
+            });
+            action("search", () -> {
+                catalog.searchProduct(product);
+                return null;
+            });
+            action("addToCart", () -> {
+                catalog.addToCart(product);
+                return null;
+            });
+            action("checkout", () -> {
+                pages.cart().checkout();
+                pages.cart().settle();
+                return null;
+            });
+            stats.success(LoadStats.ITERATION, intendedStartNanos, System.nanoTime());
+        } catch (ActionFailedException e) {
+            stats.error(LoadStats.ITERATION, System.nanoTime(), e.getCause());
+        } finally {
+            if (context[0] != null) {
+                try {
+                    context[0].close();
+                } catch (PlaywrightException e) {
+                    // The browser went away; the next iteration reports it.
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        // Only disconnects; the shared browser stays up for the other users.
+        playwright.close();
+    }
+
+    private <T> T action(String name, Supplier<T> body) {
+        long start = System.nanoTime();
+        try {
+            T result = body.get();
+            stats.success(name, start, System.nanoTime());
+            return result;
+        } catch (RuntimeException e) {
+            stats.error(name, System.nanoTime(), e);
+            throw new ActionFailedException(e);
+        }
+    }
+
+    private static final class ActionFailedException extends RuntimeException {
+        ActionFailedException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
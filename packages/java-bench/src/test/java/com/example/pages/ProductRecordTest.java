@@ -0,0 +1,39 @@
+package com.example.pages;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductRecordTest {
+
+    @Test
+    void parsesPriceWithCurrencyAndSeparators() {
+        assertThat(ProductRecord.parsePrice("¥12,800")).isEqualTo(12800);
+        assertThat(ProductRecord.parsePrice("12,800円")).isEqualTo(12800);
+        assertThat(ProductRecord.parsePrice("¥980")).isEqualTo(980);
+    }
+
+    @Test
+    void stopsAtTheFirstNonDigitAfterThePrice() {
+        assertThat(ProductRecord.parsePrice("¥1,980 (税込)")).isEqualTo(1980);
+        assertThat(ProductRecord.parsePrice("¥1,234 / 2個")).isEqualTo(1234);
+    }
+
+    @Test
+    void missingPriceIsMinusOne() {
+        assertThat(ProductRecord.parsePrice(null)).isEqualTo(-1);
+        assertThat(ProductRecord.parsePrice("")).isEqualTo(-1);
+        assertThat(ProductRecord.parsePrice("価格未定")).isEqualTo(-1);
+        assertThat(new ProductRecord("Tablet", -1, "electronics", true, true).hasPrice()).isFalse();
+    }
+
+    @Test
+    void nameMatchesIgnoringCase() {
+        ProductRecord product = new ProductRecord("Wireless Earbuds", 12800, "electronics", true, true);
+
+        assertThat(product.nameMatches("earbuds")).isTrue();
+        assertThat(product.nameMatches("WIRELESS")).isTrue();
+        assertThat(product.nameMatches("Speaker")).isFalse();
+        assertThat(new ProductRecord(null, 0, null, false, false).nameMatches("any")).isFalse();
+    }
+}
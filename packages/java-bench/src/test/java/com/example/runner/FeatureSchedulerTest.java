@@ -0,0 +1,97 @@
+package com.example.runner;
+
+import com.example.support.DurationHistory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeatureSchedulerTest {
+
+    @Test
+    void parsesShard() {
+        assertThat(FeatureScheduler.Shard.parse(" 2/5 ")).isEqualTo(new FeatureScheduler.Shard(2, 5));
+        assertThat(FeatureScheduler.Shard.parse("2/5").dir()).isEqualTo("target/shards/2-of-5");
+        assertThat(FeatureScheduler.Shard.parse(null)).isNull();
+        assertThat(FeatureScheduler.Shard.parse(" ")).isNull();
+    }
+
+    @Test
+    void rejectsShardOutOfRange() {
+        for (String value : List.of("0/2", "3/2", "1/0", "1", "a/b", "1/2/3")) {
+            assertThatThrownBy(() -> FeatureScheduler.Shard.parse(value))
+                    .as(value)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void withoutHistoryFeaturesAreEqualAndSortedByName(@TempDir Path dir) {
+        List<String> features = new ArrayList<>(List.of("c.feature", "a.feature", "b.feature"));
+
+        Map<String, Double> estimates = FeatureScheduler.estimates(features, DurationHistory.load(dir.resolve("none.json")));
+
+        assertThat(features).containsExactly("a.feature", "b.feature", "c.feature");
+        assertThat(estimates).containsOnly(Map.entry("a.feature", 1.0), Map.entry("b.feature", 1.0), Map.entry("c.feature", 1.0));
+    }
+
+    @Test
+    void historySortsLongestFirstAndEstimatesNewFeaturesAtTheMean(@TempDir Path dir) {
+        DurationHistory history = DurationHistory.load(dir.resolve("none.json"));
+        history.record("a.feature:3", 1000);
+        history.record("a.feature:9", 1000);
+        history.record("b.feature:4", 6000);
+        List<String> features = new ArrayList<>(List.of("a.feature", "b.feature", "new.feature"));
+
+        Map<String, Double> estimates = FeatureScheduler.estimates(features, history);
+
+        assertThat(features).containsExactly("b.feature", "new.feature", "a.feature");
+        assertThat(estimates.get("new.feature")).isEqualTo(4000.0);
+    }
+
+    @Test
+    void dealsFeaturesToTheLeastLoadedShard() {
+        List<String> features = List.of("f5", "f4", "f3", "f2", "f1");
+        Map<String, Double> estimates = Map.of("f5", 5.0, "f4", 4.0, "f3", 3.0, "f2", 2.0, "f1", 1.0);
+
+        double[] load = new double[2];
+        List<String> first = FeatureScheduler.assign(features, estimates, new FeatureScheduler.Shard(1, 2), load);
+        List<String> second = FeatureScheduler.assign(features, estimates, new FeatureScheduler.Shard(2, 2), new double[2]);
+
+        assertThat(first).containsExactly("f5", "f2", "f1");
+        assertThat(second).containsExactly("f4", "f3");
+        assertThat(load).containsExactly(8.0, 7.0);
+    }
+
+    @Test
+    void everyFeatureLandsInExactlyOneShard() {
+        List<String> features = new ArrayList<>();
+        Map<String, Double> estimates = new HashMap<>();
+        for (int i = 0; i < 23; i++) {
+            features.add("f" + i);
+            estimates.put("f" + i, (double) (i * 7 % 11 + 1));
+        }
+
+        List<String> all = new ArrayList<>();
+        for (int index = 1; index <= 4; index++) {
+            all.addAll(FeatureScheduler.assign(features, estimates, new FeatureScheduler.Shard(index, 4), new double[4]));
+        }
+
+        assertThat(all).containsExactlyInAnyOrderElementsOf(features);
+    }
+
+    @Test
+    void moreShardsThanFeaturesLeavesSomeEmpty() {
+        List<String> assigned = FeatureScheduler.assign(List.of("only"), Map.of("only", 3.0),
+                new FeatureScheduler.Shard(2, 3), new double[3]);
+
+        assertThat(assigned).isEmpty();
+    }
+}
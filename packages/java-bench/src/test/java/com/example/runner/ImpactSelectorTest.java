@@ -0,0 +1,113 @@
+package com.example.runner;
+
+import com.example.support.ImpactIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImpactSelectorTest {
+    private static final String PAGES = "src/test/java/com/example/pages/";
+    private static final String STEPS = "src/test/java/com/example/steps/";
+
+    @TempDir
+    Path module;
+    private ImpactIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        write(PAGES + "BasePage.java", "public abstract class BasePage {\n}\n");
+        write(PAGES + "CartPage.java", "public class CartPage extends BasePage {\n}\n");
+        write(PAGES + "CatalogPage.java", "public class CatalogPage extends BasePage {\n    CartPage openCart() {\n        return null;\n    }\n}\n");
+        write(PAGES + "LoginPage.java", "public class LoginPage extends BasePage {\n}\n");
+        write(STEPS + "CartSteps.java", """
+                public class CartSteps {
+                    public void addToCart() {
+                        new CatalogPage();
+                    }
+                }
+                """);
+        write(STEPS + "LoginSteps.java", """
+                public class LoginSteps {
+                    public void login() {
+                        loginAs();
+                    }
+
+                    private void loginAs() {
+                        new LoginPage();
+                    }
+                }
+                """);
+        index = ImpactIndex.load(module.resolve("no-index.json"));
+        index.put("classpath:features/cart/cart.feature:5", Set.of("com.example.steps.CartSteps.addToCart"));
+        index.put("classpath:features/cart/cart.feature:11", Set.of("com.example.steps.LoginSteps.login"));
+        index.put("classpath:features/login/login.feature:3", Set.of("com.example.steps.LoginSteps.login"));
+    }
+
+    @Test
+    void runsEverythingWithoutAnIndex() {
+        assertThat(select(ImpactIndex.load(module.resolve("missing.json")), PAGES + "CartPage.java")).isEmpty();
+    }
+
+    @Test
+    void runsEverythingForFilesTheIndexCannotMap() {
+        assertThat(select(index, "pom.xml")).isEmpty();
+        assertThat(select(index, "src/test/java/com/example/hooks/BrowserHooks.java")).isEmpty();
+    }
+
+    @Test
+    void ignoresDocumentation() {
+        assertThat(select(index, "README.md")).contains(Map.of());
+    }
+
+    @Test
+    void changedFeatureSelectsTheWholeFeature() {
+        assertThat(select(index, "src/test/resources/features/login/login.feature"))
+                .contains(Map.of("classpath:features/login/login.feature", Set.of()));
+    }
+
+    @Test
+    void changedStepClassSelectsTheScenariosBoundToIt() {
+        assertThat(select(index, STEPS + "CartSteps.java"))
+                .contains(Map.of("classpath:features/cart/cart.feature", Set.of(5)));
+    }
+
+    @Test
+    void changedPageSelectsScenariosWhoseStepsUseItThroughAnotherPage() {
+        assertThat(select(index, PAGES + "CartPage.java"))
+                .contains(Map.of("classpath:features/cart/cart.feature", Set.of(5)));
+    }
+
+    @Test
+    void changedPageSelectsStepsThatReachItThroughAHelper() {
+        assertThat(select(index, PAGES + "LoginPage.java"))
+                .contains(Map.of("classpath:features/cart/cart.feature", Set.of(11),
+                        "classpath:features/login/login.feature", Set.of(3)));
+    }
+
+    @Test
+    void changedBasePageReachesEveryPage() {
+        assertThat(select(index, PAGES + "BasePage.java"))
+                .contains(Map.of("classpath:features/cart/cart.feature", Set.of(5, 11),
+                        "classpath:features/login/login.feature", Set.of(3)));
+    }
+
+    private Optional<Map<String, Set<Integer>>> select(ImpactIndex impactIndex, String... changed) {
+        return ImpactSelector.select("HEAD", List.of(changed), impactIndex, module);
+    }
+
+    private void write(String file, String source) throws IOException {
+        Path path = module.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, source);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.support;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageDiffTest {
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int BLACK = 0xFF000000;
+    // 5 levels darker than white: rendering noise for toHaveScreenshot's default threshold of 0.1.
+    private static final int OFF_WHITE = 0xFFFAFAFA;
+
+    @Test
+    void identicalImagesHaveNoDifference() {
+        ImageDiff.Result result = ImageDiff.compare(image(64, 64), image(64, 64), 0.1);
+
+        assertThat(result.sizeMismatch()).isFalse();
+        assertThat(result.diffPixels()).isZero();
+        assertThat(result.changedTiles()).isZero();
+        assertThat(result.tiles()).isEqualTo(4);
+        assertThat(result.minX()).isEqualTo(-1);
+    }
+
+    @Test
+    void changedPixelIsCountedAndLocated() {
+        BufferedImage actual = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        fill(actual, WHITE);
+        actual.setRGB(40, 5, BLACK);
+
+        ImageDiff.Result result = ImageDiff.compare(image(64, 64), ImageDiff.Image.of(actual), 0.1);
+
+        assertThat(result.diffPixels()).isEqualTo(1);
+        assertThat(result.changedTiles()).isEqualTo(1);
+        assertThat(result.minX()).isEqualTo(40);
+        assertThat(result.minY()).isEqualTo(5);
+        assertThat(result.maxX()).isEqualTo(40);
+        assertThat(result.maxY()).isEqualTo(5);
+    }
+
+    @Test
+    void thresholdZeroCountsAnyChange() {
+        ImageDiff.Result result = ImageDiff.compare(image(64, 64), image(64, 64, OFF_WHITE), 0);
+
+        assertThat(result.diffPixels()).isEqualTo(64 * 64);
+        assertThat(result.changedTiles()).isEqualTo(4);
+    }
+
+    @Test
+    void defaultThresholdIgnoresSmallColourChanges() {
+        ImageDiff.Result result = ImageDiff.compare(image(64, 64), image(64, 64, OFF_WHITE), 0.1);
+
+        assertThat(result.diffPixels()).isZero();
+    }
+
+    @Test
+    void thresholdOneMatchesAnything() {
+        ImageDiff.Result result = ImageDiff.compare(image(64, 64), image(64, 64, BLACK), 1);
+
+        assertThat(result.diffPixels()).isZero();
+    }
+
+    @Test
+    void differentSizesAreAMismatch() {
+        ImageDiff.Result result = ImageDiff.compare(image(64, 64), image(64, 65), 0.1);
+
+        assertThat(result.sizeMismatch()).isTrue();
+        assertThat(result.diffPixels()).isEqualTo(64 * 65);
+    }
+
+    @Test
+    void partialEdgeTilesAreCompared() {
+        BufferedImage actual = new BufferedImage(50, 40, BufferedImage.TYPE_INT_ARGB);
+        fill(actual, WHITE);
+        actual.setRGB(49, 39, BLACK);
+
+        ImageDiff.Result result = ImageDiff.compare(image(50, 40), ImageDiff.Image.of(actual), 0.1);
+
+        assertThat(result.tiles()).isEqualTo(4);
+        assertThat(result.diffPixels()).isEqualTo(1);
+        assertThat(result.maxX()).isEqualTo(49);
+        assertThat(result.maxY()).isEqualTo(39);
+    }
+
+    @Test
+    void decodedPngComparesEqualToItsSource() throws IOException {
+        BufferedImage source = new BufferedImage(40, 40, BufferedImage.TYPE_INT_ARGB);
+        fill(source, WHITE);
+        source.setRGB(10, 10, BLACK);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(source, "png", png);
+
+        ImageDiff.Result result = ImageDiff.compare(ImageDiff.Image.of(source), ImageDiff.Image.decode(png.toByteArray()), 0);
+
+        assertThat(result.diffPixels()).isZero();
+    }
+
+    private static ImageDiff.Image image(int width, int height) {
+        return image(width, height, WHITE);
+    }
+
+    private static ImageDiff.Image image(int width, int height, int argb) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        fill(image, argb);
+        return ImageDiff.Image.of(image);
+    }
+
+    private static void fill(BufferedImage image, int argb) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, argb);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.percentileMillis(50)).isZero();
+        assertThat(histogram.meanMillis()).isZero();
+    }
+
+    @Test
+    void valuesBelowTheLinearRangeAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 100; micros++) {
+            histogram.record(micros);
+        }
+
+        assertThat(histogram.percentileMillis(50)).isEqualTo(0.050);
+        assertThat(histogram.percentileMillis(99)).isEqualTo(0.099);
+        assertThat(histogram.percentileMillis(100)).isEqualTo(0.100);
+        assertThat(histogram.meanMillis()).isCloseTo(0.0505, within(1e-12));
+    }
+
+    @Test
+    void percentilesStayWithinTheBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        // 0.1 ms to 1000 ms in 0.1 ms steps
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i * 100L);
+        }
+
+        assertThat(histogram.percentileMillis(50)).isBetween(500.0, 500.0 * 1.016);
+        assertThat(histogram.percentileMillis(95)).isBetween(950.0, 950.0 * 1.016);
+        assertThat(histogram.percentileMillis(99)).isBetween(990.0, 990.0 * 1.016);
+        assertThat(histogram.percentileMillis(100)).isEqualTo(1000.0);
+        assertThat(histogram.maxMillis()).isEqualTo(1000.0);
+    }
+
+    @Test
+    void percentileIsCappedByTheRecordedMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_001);
+
+        assertThat(histogram.percentileMillis(50)).isEqualTo(1000.001);
+    }
+
+    @Test
+    void bucketUpperBoundCoversTheValue() {
+        for (long micros = 1; micros < 50_000_000_000L; micros = micros * 3 + 7) {
+            long upper = LatencyHistogram.highestValueAt(LatencyHistogram.indexOf(micros));
+
+            assertThat(upper).isGreaterThanOrEqualTo(micros);
+            assertThat((double) upper).isCloseTo(micros, within(micros * 0.016 + 1));
+        }
+    }
+
+    @Test
+    void negativeDurationsAreRecordedAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(-5);
+
+        assertThat(histogram.count()).isEqualTo(1);
+        assertThat(histogram.maxMillis()).isZero();
+    }
+
+    @Test
+    void mergedHistogramMatchesOneRecordingEverything() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        LatencyHistogram both = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            LatencyHistogram half = i % 2 == 0 ? first : second;
+            half.record(i * 37L);
+            both.record(i * 37L);
+        }
+
+        first.merge(second.buckets(), second.sumMicros(), second.maxMicros());
+
+        assertThat(first.count()).isEqualTo(both.count());
+        assertThat(first.buckets()).isEqualTo(both.buckets());
+        assertThat(first.percentileMillis(90)).isEqualTo(both.percentileMillis(90));
+        assertThat(first.meanMillis()).isEqualTo(both.meanMillis());
+    }
+}
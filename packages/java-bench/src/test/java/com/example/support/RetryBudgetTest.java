@@ -0,0 +1,34 @@
+package com.example.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// RetryBudget is JVM-wide state, so the whole sequence runs in one test against the default 120 s budget.
+class RetryBudgetTest {
+
+    @Test
+    void retriesSpendTheBudgetAndAreDeniedOnceItIsUsedUp() {
+        String scenario = "classpath:features/cart.feature:12";
+        assertThat(RetryBudget.summary()).isEmpty();
+        assertThat(RetryBudget.attempt(scenario)).isEqualTo(1);
+
+        // The first run is not a retry and does not spend the budget.
+        RetryBudget.finish(scenario, false, TimeUnit.SECONDS.toNanos(200));
+        assertThat(RetryBudget.attempt(scenario)).isEqualTo(2);
+        assertThat(RetryBudget.tryRetry()).isTrue();
+
+        RetryBudget.finish(scenario, true, TimeUnit.SECONDS.toNanos(121));
+        assertThat(RetryBudget.attempt(scenario)).isEqualTo(3);
+        assertThat(RetryBudget.outcomes().get(scenario)).isEqualTo(List.of(false, true));
+
+        assertThat(RetryBudget.tryRetry()).isFalse();
+        assertThat(RetryBudget.summary())
+                .startsWith("[RetryBudget] 1 retr(ies) took 121")
+                .contains("of 120 s budget")
+                .endsWith("1 passed on retry, 1 denied");
+    }
+}
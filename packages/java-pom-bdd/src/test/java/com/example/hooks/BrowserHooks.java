@@ -1,48 +1,166 @@
 package com.example.hooks;
 
+import com.example.pages.PageActivity;
+import com.example.pages.Pages;
+import com.example.support.AuthStateCache;
+import com.example.support.BrowserPool;
+import com.example.support.ContextPrewarmer;
+import com.example.support.FailureCapture;
+import com.example.support.FeatureContextCache;
+import com.example.support.FlakyHistory;
+import com.example.support.MemoryGovernor;
+import com.example.support.ResourcePolicy;
+import com.example.support.RetryBudget;
+import com.example.support.RunReport;
+import com.example.support.SettleStats;
+import com.example.support.ShopTodo;
+import com.example.support.StateSeeder;
+import com.example.support.Timings;
+import com.example.support.VisualBaselines;
+import com.example.support.WebVitals;
 import com.microsoft.playwright.*;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
 public class BrowserHooks {
-    private static final ThreadLocal<Playwright> playwright = new ThreadLocal<>();
-    private static final ThreadLocal<Browser> browser = new ThreadLocal<>();
+    private static final String LOGGED_IN_TAG = "@logged-in";
+    private static final String REUSE_CONTEXT_TAG = "@reuse-context";
+
     private static final ThreadLocal<BrowserContext> context = new ThreadLocal<>();
     private static final ThreadLocal<Page> pageThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<Long> scenarioStart = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> authStateInjected = ThreadLocal.withInitial(() -> false);
 
     @Before
     public void setUp(Scenario scenario) {
-        playwright.set(Playwright.create());
-        browser.set(playwright.get().chromium().launch(
-                new BrowserType.LaunchOptions().setHeadless(true)));
-        context.set(browser.get().newContext());
-        pageThreadLocal.set(context.get().newPage());
+        MemoryGovernor.admit(scenario.getName());
+        scenarioStart.set(System.nanoTime());
+        SettleStats.reset();
+        Browser.NewContextOptions options = new Browser.NewContextOptions();
+        if (scenario.getSourceTagNames().contains(LOGGED_IN_TAG)) {
+            AuthStateCache.get(ShopTodo.DEMO_USER, ShopTodo.homeUrl()).ifPresent(state -> {
+                options.setStorageState(state);
+                authStateInjected.set(true);
+            });
+        }
+        boolean reuseContext = scenario.getSourceTagNames().contains(REUSE_CONTEXT_TAG);
+        if (!reuseContext) {
+            // The worker has moved on from its @reuse-context feature; don't keep that context open.
+            FeatureContextCache.discard();
+        }
+        Page page;
+        if (reuseContext) {
+            page = FeatureContextCache.acquire(scenario.getUri(), () -> newContext(options));
+        } else if (!authStateInjected.get()) {
+            page = ContextPrewarmer.take(Objects.toString(options.storageState, ""), browser -> newContext(browser, options))
+                    .orElseGet(() -> newContext(options).newPage());
+        } else {
+            page = newContext(options).newPage();
+        }
+        context.set(page.context());
+        pageThreadLocal.set(page);
+        PageActivity.of(page);
+        FailureCapture.begin(page.context(), scenario.getName());
     }
 
     @After
     public void tearDown(Scenario scenario) {
-        Page currentPage = pageThreadLocal.get();
-        if (scenario.isFailed() && currentPage != null) {
-            byte[] screenshot = currentPage.screenshot();
-            scenario.attach(screenshot, "image/png", "screenshot");
-        }
+        FailureCapture.end(context.get(), pageThreadLocal.get(), artifactName(scenario), scenario.isFailed())
+                .ifPresent(failure -> {
+                    if (failure.screenshot() != null) {
+                        scenario.attach(failure.screenshot(), "image/png", "screenshot");
+                    }
+                    if (failure.dir() != null) {
+                        scenario.log("artifacts: " + failure.dir());
+                    }
+                });
+        scenario.log(SettleStats.summary());
         if (context.get() != null) {
-            context.get().close();
+            scenario.log(ResourcePolicy.stats(context.get()).drain());
         }
-        if (browser.get() != null) {
-            browser.get().close();
+        if (FeatureContextCache.owns(context.get())) {
+            if (scenario.isFailed()) {
+                FeatureContextCache.discard();
+            }
+        } else if (context.get() != null && !ContextPrewarmer.release(context.get())) {
+            context.get().close();
         }
-        if (playwright.get() != null) {
-            playwright.get().close();
+        if (scenarioStart.get() != null) {
+            BrowserPool.recordScenario(System.nanoTime() - scenarioStart.get());
         }
         pageThreadLocal.remove();
         context.remove();
-        browser.remove();
-        playwright.remove();
+        scenarioStart.remove();
+        authStateInjected.remove();
+        MemoryGovernor.release();
+    }
+
+    @AfterAll
+    public static void shutDown() {
+        List<String> reports = new ArrayList<>();
+        reports.add(FeatureContextCache.report());
+        reports.add(ContextPrewarmer.report());
+        FeatureContextCache.closeAll();
+        ContextPrewarmer.shutdown();
+        ShopTodo.SNAPSHOT.finishRecording();
+        // Surefire may rerun failed scenarios in this JVM; they take over the running browsers.
+        BrowserPool.park();
+        reports.add(BrowserPool.report());
+        reports.add(MemoryGovernor.report());
+        reports.add(WebVitals.report());
+        reports.add(VisualBaselines.report());
+        reports.add(StateSeeder.report());
+        reports.add(FailureCapture.flush());
+        if (!RetryBudget.outcomes().isEmpty()) {
+            FlakyHistory history = FlakyHistory.withRun(RetryBudget.outcomes());
+            history.save();
+            reports.add(RetryBudget.summary());
+            reports.add(history.report());
+        }
+        RunReport.write(reports);
+    }
+
+    // e.g. "add-to-cart-12" for the scenario on line 12 of add-to-cart.feature, "add-to-cart-12-attempt2" on retry
+    private static String artifactName(Scenario scenario) {
+        String path = scenario.getUri().getSchemeSpecificPart();
+        String feature = path.substring(path.lastIndexOf('/') + 1).replace(".feature", "");
+        int attempt = RetryBudget.attempt(RetryHooks.scenarioId(scenario));
+        return feature + "-" + scenario.getLine() + (attempt > 1 ? "-attempt" + attempt : "");
+    }
+
+    private static BrowserContext newContext(Browser.NewContextOptions options) {
+        return newContext(BrowserPool.browser(), options);
+    }
+
+    private static BrowserContext newContext(Browser browser, Browser.NewContextOptions options) {
+        long start = System.nanoTime();
+        BrowserContext newContext = browser.newContext(options);
+        ShopTodo.SNAPSHOT.attach(newContext);
+        ResourcePolicy.defaults().apply(newContext);
+        WebVitals.install(newContext);
+        Timings.record(Timings.Bucket.CONTEXT, System.nanoTime() - start);
+        return newContext;
     }
 
     public static Page getPage() {
         return pageThreadLocal.get();
     }
+
+    public static Pages getPages() {
+        return Pages.of(pageThreadLocal.get());
+    }
+
+    public static BrowserContext getContext() {
+        return context.get();
+    }
+
+    public static boolean isAuthStateInjected() {
+        return authStateInjected.get();
+    }
 }
@@ -0,0 +1,64 @@
+package com.example.hooks;
+
+import com.example.support.PerformanceBudget;
+import com.example.support.SiteMode;
+import com.example.support.WebVitals;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+
+import java.util.List;
+import java.util.Locale;
+
+// Collects the scenario's WebVitals before BrowserHooks closes the context (higher @After orders run
+// first) and fails the scenario when a document went over its budget, so the failure is captured.
+public class PerformanceHooks {
+    // Timings against the live site depend on the network, so budgets only fail scenarios when pages
+    // are served from the machine (replay/local) unless -Dweb.vitals.enforce=true; otherwise they are logged.
+    static final boolean ENFORCED = Boolean.parseBoolean(System.getProperty("web.vitals.enforce",
+            String.valueOf(SiteMode.current() == SiteMode.REPLAY || SiteMode.current() == SiteMode.LOCAL)));
+
+    private static final ThreadLocal<PerformanceBudget> budget = new ThreadLocal<>();
+    private static final ThreadLocal<Scenario> scenario = new ThreadLocal<>();
+
+    @Before
+    public void readBudget(Scenario current) {
+        budget.set(PerformanceBudget.fromTags(current.getSourceTagNames()));
+        scenario.set(current);
+    }
+
+    @After(order = 20000)
+    public void checkBudget(Scenario current) {
+        PerformanceBudget scenarioBudget = budget.get();
+        budget.remove();
+        try {
+            if (!WebVitals.ENABLED || BrowserHooks.getContext() == null) {
+                return;
+            }
+            List<WebVitals.Sample> samples = WebVitals.finish(BrowserHooks.getContext());
+            if (scenarioBudget != null && !scenarioBudget.isEmpty()) {
+                report(scenarioBudget.violations(samples));
+            }
+        } finally {
+            scenario.remove();
+        }
+    }
+
+    public static PerformanceBudget budget() {
+        return budget.get();
+    }
+
+    public static void report(List<String> violations) {
+        if (violations.isEmpty()) {
+            return;
+        }
+        String message = "Performance budget exceeded:\n  " + String.join("\n  ", violations);
+        if (ENFORCED) {
+            throw new AssertionError(message);
+        }
+        Scenario current = scenario.get();
+        if (current != null) {
+            current.log(message + "\n(not enforced in " + SiteMode.current().name().toLowerCase(Locale.ROOT) + " mode)");
+        }
+    }
+}
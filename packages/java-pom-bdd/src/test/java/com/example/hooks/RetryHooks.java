@@ -0,0 +1,39 @@
+package com.example.hooks;
+
+import com.example.support.RetryBudget;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+
+// Runs around BrowserHooks: a retry over the budget fails before setUp, so tearDown may see a null context.
+public class RetryHooks {
+    private static final ThreadLocal<Long> attemptStart = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> denied = ThreadLocal.withInitial(() -> false);
+
+    @Before(order = 0)
+    public void startAttempt(Scenario scenario) {
+        attemptStart.set(System.nanoTime());
+        int attempt = RetryBudget.attempt(scenarioId(scenario));
+        if (attempt > 1) {
+            if (!RetryBudget.tryRetry()) {
+                denied.set(true);
+                throw new IllegalStateException("Retry budget (-Dretry.budget.seconds) used up, not retrying " + scenarioId(scenario));
+            }
+            scenario.log("attempt " + attempt);
+        }
+    }
+
+    @After(order = 0)
+    public void finishAttempt(Scenario scenario) {
+        Long start = attemptStart.get();
+        long nanos = start == null || denied.get() ? 0 : System.nanoTime() - start;
+        RetryBudget.finish(scenarioId(scenario), !scenario.isFailed(), nanos);
+        attemptStart.remove();
+        denied.remove();
+    }
+
+    // Same id as ScenarioDurationPlugin.scenarioId
+    public static String scenarioId(Scenario scenario) {
+        return scenario.getUri() + ":" + scenario.getLine();
+    }
+}
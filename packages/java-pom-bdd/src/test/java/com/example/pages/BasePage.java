@@ -1,8 +1,43 @@
 package com.example.pages;
 
+import com.example.support.SettleStats;
+import com.example.support.Timings;
+import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.ScreenshotAnimations;
+import com.microsoft.playwright.options.ScreenshotCaret;
+import com.microsoft.playwright.options.WaitForSelectorState;
+
+import java.util.List;
+import java.util.Map;
 
 public class BasePage {
+    private static final int SETTLE_TIMEOUT_MS = Integer.getInteger("settle.timeout.ms", 3000);
+    private static final int QUIET_WINDOW_MS = Integer.getInteger("settle.quiet.ms", 50);
+    private static final String DOM_QUIET_SCRIPT = """
+            ([quietMs, timeoutMs]) => new Promise(resolve => {
+              const start = performance.now();
+              let last = start;
+              let mutations = 0;
+              const observer = new MutationObserver(records => {
+                mutations += records.length;
+                last = performance.now();
+              });
+              observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });
+              const check = () => {
+                const now = performance.now();
+                if (now - last >= quietMs || now - start >= timeoutMs) {
+                  observer.disconnect();
+                  resolve({ settled: now - last >= quietMs, mutations });
+                } else {
+                  setTimeout(check, Math.min(quietMs, 16));
+                }
+              };
+              setTimeout(check, quietMs);
+            })
+            """;
+
     protected final Page page;
 
     public BasePage(Page page) {
@@ -10,7 +45,9 @@ public class BasePage {
     }
 
     public void navigate(String url) {
+        long start = System.nanoTime();
         page.navigate(url);
+        Timings.record(Timings.Bucket.NAVIGATION, System.nanoTime() - start);
     }
 
     public String getTitle() {
@@ -20,4 +57,65 @@ public class BasePage {
     public void waitForPageLoad() {
         page.waitForLoadState();
     }
+
+    public void settle() {
+        settle(QUIET_WINDOW_MS);
+    }
+
+    public void settle(int quietWindowMs) {
+        long start = System.nanoTime();
+        PageActivity activity = PageActivity.of(page);
+        try {
+            page.waitForCondition(activity::isIdle,
+                    new Page.WaitForConditionOptions().setTimeout(SETTLE_TIMEOUT_MS));
+        } catch (TimeoutError e) {
+            throw new SettleTimeoutException("Network did not drain within " + SETTLE_TIMEOUT_MS
+                    + " ms, pending requests: " + activity.describePending(), e);
+        }
+        long remainingMs = Math.max(quietWindowMs, SETTLE_TIMEOUT_MS - (System.nanoTime() - start) / 1_000_000);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> result = (Map<String, Object>) page.evaluate(DOM_QUIET_SCRIPT,
+                List.of(quietWindowMs, remainingMs));
+        if (!Boolean.TRUE.equals(result.get("settled"))) {
+            throw new SettleTimeoutException("DOM kept mutating for " + SETTLE_TIMEOUT_MS + " ms ("
+                    + result.get("mutations") + " mutations, quiet window " + quietWindowMs + " ms) on " + page.url());
+        }
+        SettleStats.record(System.nanoTime() - start);
+    }
+
+    public void settleOn(Locator locator, WaitForSelectorState state) {
+        settleOn(locator, state, SETTLE_TIMEOUT_MS);
+    }
+
+    public void settleOn(Locator locator, WaitForSelectorState state, double timeoutMs) {
+        long start = System.nanoTime();
+        try {
+            locator.waitFor(new Locator.WaitForOptions().setState(state).setTimeout(timeoutMs));
+        } catch (TimeoutError e) {
+            throw new SettleTimeoutException(locator + " did not become " + state + " within "
+                    + (long) timeoutMs + " ms on " + page.url(), e);
+        }
+        SettleStats.record(System.nanoTime() - start);
+    }
+
+    // Animations are stopped and the caret hidden so repeated screenshots of a settled page are identical.
+    public byte[] screenshot() {
+        return page.screenshot(new Page.ScreenshotOptions().setFullPage(true)
+                .setAnimations(ScreenshotAnimations.DISABLED).setCaret(ScreenshotCaret.HIDE));
+    }
+
+    protected byte[] screenshot(Locator locator) {
+        return locator.screenshot(new Locator.ScreenshotOptions()
+                .setAnimations(ScreenshotAnimations.DISABLED).setCaret(ScreenshotCaret.HIDE));
+    }
+
+    protected void act(Runnable action) {
+        action.run();
+        settle();
+    }
+
+    protected void act(Runnable action, int quietWindowMs) {
+        action.run();
+        settle(quietWindowMs);
+    }
 }
@@ -2,97 +2,199 @@ package com.example.pages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 public class CatalogPage extends BasePage {
-    private final Locator searchInput;
+    // The search box filters on input, so give it a wider quiet window than a click.
+    private static final int SEARCH_QUIET_WINDOW_MS = 250;
+    private static final Pattern ADD_TO_CART = Pattern.compile("カートに追加");
+    private static final Pattern PRICE = Pattern.compile("¥[\\d,]+");
+    private static final String PRODUCT_CARD_SELECTOR = "[class*='MuiCard-root']";
+    // Reads every card in one round trip; the price stays text and is parsed on the Java side.
+    // Cards without an add-to-cart button (e.g. other MUI cards on the page) are not products.
+    private static final String EXTRACT_PRODUCTS_SCRIPT = """
+            cards => cards.flatMap(card => {
+              const button = [...card.querySelectorAll('button')].find(b => b.textContent.includes('カートに追加'));
+              if (!button) return [];
+              const img = card.querySelector('img[alt]');
+              const heading = card.querySelector('h1, h2, h3, h4, h5, h6');
+              const chip = card.querySelector('[class*="MuiChip-label"]');
+              const price = card.innerText.match(/¥[0-9,]+/);
+              return [{
+                name: img ? img.alt : heading ? heading.textContent.trim() : null,
+                price: price ? price[0] : null,
+                category: chip ? chip.textContent.trim() : null,
+                enabled: !button.disabled && button.getAttribute('aria-disabled') !== 'true',
+                visible: card.getClientRects().length > 0 && button.getClientRects().length > 0
+              }];
+            })
+            """;
+
+    private final ElementQuery searchInput;
     private final Locator sortSelect;
-    private final Locator categoryTabs;
-    private final Locator productCards;
+    private final ElementQuery categoryTabs;
+    private final ElementQuery addToCartButtons;
+    private final Map<String, Locator> addToCartButtonsByProduct = new HashMap<>();
+    private final Map<String, Locator> categoryTabsByName = new HashMap<>();
 
     public CatalogPage(Page page) {
         super(page);
-        this.searchInput = page.getByPlaceholder("商品を検索...");
+        this.searchInput = ElementQuery.placeholder(page, "商品を検索...");
         this.sortSelect = page.getByRole(com.microsoft.playwright.options.AriaRole.COMBOBOX,
                 new Page.GetByRoleOptions().setName("並び替え"));
-        this.categoryTabs = page.getByRole(com.microsoft.playwright.options.AriaRole.TABLIST,
-                new Page.GetByRoleOptions().setName("商品カテゴリ"));
-        this.productCards = page.getByRole(com.microsoft.playwright.options.AriaRole.BUTTON,
-                new Page.GetByRoleOptions().setName(Pattern.compile("カートに追加")));
+        this.categoryTabs = ElementQuery.role(page, com.microsoft.playwright.options.AriaRole.TABLIST, "商品カテゴリ");
+        this.addToCartButtons = ElementQuery.role(page, com.microsoft.playwright.options.AriaRole.BUTTON, ADD_TO_CART);
+    }
+
+    public void waitUntilLoaded(double timeoutMs) {
+        addToCartButtons.locator().first().waitFor(new Locator.WaitForOptions()
+                .setState(WaitForSelectorState.VISIBLE).setTimeout(timeoutMs));
+    }
+
+    public ElementQuery searchBox() {
+        return searchInput;
+    }
+
+    public ElementQuery categoryTabs() {
+        return categoryTabs;
+    }
+
+    public ElementQuery addToCartButtons() {
+        return addToCartButtons;
+    }
+
+    public ElementQuery productImages(Pattern names) {
+        return ElementQuery.role(page, com.microsoft.playwright.options.AriaRole.IMG, names);
+    }
+
+    public ElementQuery productNames(Pattern names) {
+        return ElementQuery.text(page, names);
+    }
+
+    public ElementQuery prices() {
+        return ElementQuery.text(page, PRICE);
     }
 
     public void searchProduct(String keyword) {
-        searchInput.fill(keyword);
-        page.waitForTimeout(500);
+        act(() -> searchInput.locator().fill(keyword), SEARCH_QUIET_WINDOW_MS);
     }
 
     public void clearSearch() {
-        searchInput.clear();
+        searchInput.locator().clear();
     }
 
     public void sortBy(String option) {
-        sortSelect.selectOption(option);
+        act(() -> sortSelect.selectOption(option));
     }
 
     public void filterByCategory(String category) {
-        categoryTabs.getByRole(com.microsoft.playwright.options.AriaRole.TAB,
-                new Locator.GetByRoleOptions().setName(category)).click();
+        act(categoryTab(category)::click);
+    }
+
+    public List<ProductRecord> products() {
+        List<?> cards = (List<?>) page.locator(PRODUCT_CARD_SELECTOR).evaluateAll(EXTRACT_PRODUCTS_SCRIPT);
+        List<ProductRecord> products = new ArrayList<>(cards.size());
+        for (Object card : cards) {
+            products.add(ProductRecord.fromMap((Map<?, ?>) card));
+        }
+        return products;
+    }
+
+    public List<ProductRecord> visibleProducts() {
+        List<ProductRecord> visible = new ArrayList<>();
+        for (ProductRecord product : products()) {
+            if (product.visible()) {
+                visible.add(product);
+            }
+        }
+        return visible;
+    }
+
+    public Optional<ProductRecord> findProduct(String productName) {
+        ProductRecord partial = null;
+        for (ProductRecord product : products()) {
+            if (productName.equals(product.name())) {
+                return Optional.of(product);
+            }
+            if (partial == null && product.nameMatches(productName)) {
+                partial = product;
+            }
+        }
+        return Optional.ofNullable(partial);
     }
 
+    // Visible product cards, i.e. their visible カートに追加 buttons (add-to-cart buttons outside a card are not counted).
     public int getProductCount() {
-        return productCards.count();
+        return visibleProducts().size();
     }
 
     public void addToCart(String productName) {
-        Locator productImg = page.getByRole(com.microsoft.playwright.options.AriaRole.IMG,
-                new Page.GetByRoleOptions().setName(productName));
-        Locator card = productImg.locator("..");
-        card.getByRole(com.microsoft.playwright.options.AriaRole.BUTTON,
-                new Locator.GetByRoleOptions().setName(Pattern.compile("カートに追加"))).click();
+        act(addToCartButton(productName)::click);
     }
 
     public boolean isAddToCartEnabled(String productName) {
-        Locator productImg = page.getByRole(com.microsoft.playwright.options.AriaRole.IMG,
-                new Page.GetByRoleOptions().setName(productName));
-        Locator card = productImg.locator("..");
-        Locator button = card.getByRole(com.microsoft.playwright.options.AriaRole.BUTTON,
-                new Locator.GetByRoleOptions().setName(Pattern.compile("カートに追加")));
-        return button.isEnabled();
+        return findProduct(productName)
+                .map(ProductRecord::addToCartEnabled)
+                .orElseThrow(() -> new IllegalArgumentException("No product card found for: " + productName));
     }
 
+    // Matches visible card names only, not text anywhere on the page.
     public boolean isProductVisible(String productName) {
-        return page.locator("text=" + productName).isVisible();
+        for (ProductRecord product : visibleProducts()) {
+            if (product.nameMatches(productName)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public void clickCategoryTab(String category) {
-        categoryTabs.getByRole(com.microsoft.playwright.options.AriaRole.TAB,
-                new Locator.GetByRoleOptions().setName(category)).click();
+        act(categoryTab(category)::click);
+    }
+
+    // Locators are immutable, so the ones built from a name are kept for the lifetime of this page object.
+    private Locator addToCartButton(String productName) {
+        return addToCartButtonsByProduct.computeIfAbsent(productName, name -> page
+                .getByRole(com.microsoft.playwright.options.AriaRole.IMG, new Page.GetByRoleOptions().setName(name))
+                .locator("..")
+                .getByRole(com.microsoft.playwright.options.AriaRole.BUTTON,
+                        new Locator.GetByRoleOptions().setName(ADD_TO_CART)));
+    }
+
+    private Locator categoryTab(String category) {
+        return categoryTabsByName.computeIfAbsent(category, name -> categoryTabs.locator().getByRole(
+                com.microsoft.playwright.options.AriaRole.TAB, new Locator.GetByRoleOptions().setName(name)));
     }
 
     public boolean areCategoryTabsVisible() {
-        return categoryTabs.isVisible();
+        return categoryTabs.locator().isVisible();
     }
 
     public boolean isSortedByPriceAsc() {
-        List<Locator> cards = page.locator("[class*='MuiCard-root']").all();
-        if (cards.size() < 2) return true;
-
-        List<Integer> prices = new ArrayList<>();
-        for (Locator card : cards) {
-            String priceText = card.locator("text=/¥[0-9,]+/").first().textContent();
-            if (priceText != null) {
-                String numStr = priceText.replace("¥", "").replace(",", "");
-                prices.add(Integer.parseInt(numStr));
-            }
-        }
+        return isSortedByPrice(true);
+    }
+
+    public boolean isSortedByPriceDesc() {
+        return isSortedByPrice(false);
+    }
 
-        for (int i = 1; i < prices.size(); i++) {
-            if (prices.get(i) < prices.get(i - 1)) {
+    private boolean isSortedByPrice(boolean ascending) {
+        int previous = -1;
+        for (ProductRecord product : visibleProducts()) {
+            if (!product.hasPrice()) {
+                continue;
+            }
+            if (previous >= 0 && (ascending ? product.price() < previous : product.price() > previous)) {
                 return false;
             }
+            previous = product.price();
         }
         return true;
     }
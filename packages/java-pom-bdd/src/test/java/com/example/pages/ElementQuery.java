@@ -0,0 +1,109 @@
+package com.example.pages;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.AriaRole;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// A page object's element as a Locator plus the same query in a form PageChecks' in-page script can resolve.
+public final class ElementQuery {
+    private final String description;
+    private final Map<String, Object> spec;
+    private final Locator locator;
+
+    private ElementQuery(String description, Map<String, Object> spec, Locator locator) {
+        this.description = description;
+        this.spec = spec;
+        this.locator = locator;
+    }
+
+    public static ElementQuery css(Page page, String selector) {
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("css", selector);
+        return new ElementQuery(selector, spec, page.locator(selector));
+    }
+
+    public static ElementQuery role(Page page, AriaRole role, String name) {
+        return role(page, role, Pattern.compile(Pattern.quote(name), Pattern.CASE_INSENSITIVE), "\"" + name + "\"",
+                page.getByRole(role, new Page.GetByRoleOptions().setName(name)));
+    }
+
+    public static ElementQuery role(Page page, AriaRole role, Pattern name) {
+        return role(page, role, name, "/" + name + "/", page.getByRole(role, new Page.GetByRoleOptions().setName(name)));
+    }
+
+    public static ElementQuery role(Page page, AriaRole role) {
+        return role(page, role, null, null, page.getByRole(role));
+    }
+
+    public static ElementQuery text(Page page, Pattern text) {
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("text", regex(text));
+        return new ElementQuery("text /" + text + "/", spec, page.getByText(text));
+    }
+
+    public static ElementQuery placeholder(Page page, String placeholder) {
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("placeholder", placeholder);
+        return new ElementQuery("placeholder \"" + placeholder + "\"", spec, page.getByPlaceholder(placeholder));
+    }
+
+    // Visible, enabled and text checks look at the first match, as Locator.first() does; count at all of them.
+    public ElementQuery first() {
+        Map<String, Object> first = new HashMap<>(spec);
+        first.put("first", true);
+        return new ElementQuery(description, first, locator.first());
+    }
+
+    public Locator locator() {
+        return locator;
+    }
+
+    Map<String, Object> spec() {
+        return spec;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    private static ElementQuery role(Page page, AriaRole role, Pattern name, String shownName, Locator locator) {
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("role", role.name().toLowerCase(Locale.ROOT));
+        String description = "role " + spec.get("role");
+        if (name != null) {
+            spec.put("name", regex(name));
+            description += " named " + shownName;
+        }
+        return new ElementQuery(description, spec, locator);
+    }
+
+    static Map<String, Object> regex(Pattern pattern) {
+        String source = pattern.pattern().contains("\\Q") ? unquote(pattern.pattern()) : pattern.pattern();
+        return Map.of("source", source, "flags", (pattern.flags() & Pattern.CASE_INSENSITIVE) != 0 ? "i" : "");
+    }
+
+    // Pattern.quote output is not valid JavaScript, so quoted parts are escaped instead.
+    private static String unquote(String quoted) {
+        StringBuilder source = new StringBuilder();
+        int at = 0;
+        while (at < quoted.length()) {
+            int start = quoted.indexOf("\\Q", at);
+            if (start < 0) {
+                source.append(quoted, at, quoted.length());
+                break;
+            }
+            source.append(quoted, at, start);
+            int end = quoted.indexOf("\\E", start + 2);
+            String literal = quoted.substring(start + 2, end < 0 ? quoted.length() : end);
+            source.append(literal.replaceAll("[.*+?^${}()|\\[\\]\\\\/]", "\\\\$0"));
+            at = end < 0 ? quoted.length() : end + 2;
+        }
+        return source.toString();
+    }
+}
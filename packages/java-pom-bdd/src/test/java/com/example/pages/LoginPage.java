@@ -2,6 +2,7 @@ package com.example.pages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 
 public class LoginPage extends BasePage {
     private final Locator dialog;
@@ -29,10 +30,19 @@ public class LoginPage extends BasePage {
     public void login(String username, String password) {
         usernameInput.fill(username);
         passwordInput.fill(password);
-        loginButton.click();
+        act(loginButton::click);
+    }
+
+    public void waitUntilClosed() {
+        settleOn(dialog, WaitForSelectorState.HIDDEN);
     }
 
     public void clickRegisterLink() {
         registerLink.click();
     }
+
+    public byte[] dialogScreenshot() {
+        settleOn(dialog, WaitForSelectorState.VISIBLE);
+        return screenshot(dialog);
+    }
 }
@@ -0,0 +1,38 @@
+package com.example.pages;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Request;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Tracks in-flight requests per Page so settling can wait for the network to drain.
+public final class PageActivity {
+    private static final Map<Page, PageActivity> ACTIVITIES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Set<Request> pending = ConcurrentHashMap.newKeySet();
+
+    private PageActivity(Page page) {
+        page.onRequest(pending::add);
+        page.onRequestFinished(pending::remove);
+        page.onRequestFailed(pending::remove);
+    }
+
+    public static PageActivity of(Page page) {
+        return ACTIVITIES.computeIfAbsent(page, PageActivity::new);
+    }
+
+    public boolean isIdle() {
+        return pending.isEmpty();
+    }
+
+    public String describePending() {
+        return pending.stream()
+                .map(request -> request.method() + " " + request.url())
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
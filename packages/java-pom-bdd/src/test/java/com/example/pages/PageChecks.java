@@ -0,0 +1,227 @@
+package com.example.pages;
+
+import com.microsoft.playwright.JSHandle;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
+import org.assertj.core.api.SoftAssertions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Soft assertions on several elements at once, like expect.soft, read by one page.evaluate per batch.
+// Failing checks are re-read through their Locators before they are reported.
+public final class PageChecks {
+    private static final long TIMEOUT_MS = Integer.getInteger("soft.assertions.timeout.ms", 5000);
+    private static final String READ_SCRIPT = """
+            checks => {
+              const IMPLICIT_ROLES = {
+                button: 'button, input[type=button], input[type=submit], input[type=reset]',
+                link: 'a[href]',
+                img: 'img[alt]:not([alt=""])',
+                textbox: 'input:not([type]), input[type=text], input[type=search], input[type=email], input[type=password], textarea',
+                combobox: 'select',
+                checkbox: 'input[type=checkbox]',
+                heading: 'h1, h2, h3, h4, h5, h6',
+                dialog: 'dialog',
+                banner: 'header',
+                complementary: 'aside',
+                navigation: 'nav',
+                list: 'ul, ol',
+                listitem: 'li'
+              };
+              const normalize = text => (text || '').replace(/\\s+/g, ' ').trim();
+              const regex = spec => new RegExp(spec.source, spec.flags);
+              const isVisible = el => {
+                if (!el.getClientRects().length) return false;
+                const style = getComputedStyle(el);
+                return style.visibility !== 'hidden' && style.opacity !== '0';
+              };
+              const accessibleName = el => {
+                const labelledBy = el.getAttribute('aria-labelledby');
+                if (labelledBy) {
+                  return normalize(labelledBy.split(/\\s+/).map(id => document.getElementById(id)?.textContent).join(' '));
+                }
+                return normalize(el.getAttribute('aria-label') || el.getAttribute('alt')
+                    || (el.labels && el.labels.length ? el.labels[0].textContent : '')
+                    || el.textContent || el.getAttribute('title') || el.getAttribute('placeholder'));
+              };
+              const find = query => {
+                let found;
+                if (query.css) {
+                  found = [...document.querySelectorAll(query.css)];
+                } else if (query.placeholder !== undefined) {
+                  const placeholder = query.placeholder.toLowerCase();
+                  found = [...document.querySelectorAll('[placeholder]')]
+                      .filter(el => el.getAttribute('placeholder').toLowerCase().includes(placeholder));
+                } else if (query.role) {
+                  const selector = [`[role~="${query.role}"]`, IMPLICIT_ROLES[query.role]].filter(Boolean).join(', ');
+                  found = [...document.querySelectorAll(selector)]
+                      .filter(el => !el.hasAttribute('role') || el.getAttribute('role').split(/\\s+/).includes(query.role))
+                      .filter(el => !el.closest('[aria-hidden="true"]') && el.getClientRects().length > 0);
+                  if (query.name) {
+                    const name = regex(query.name);
+                    found = found.filter(el => name.test(accessibleName(el)));
+                  }
+                } else {
+                  const text = regex(query.text);
+                  const matches = el => text.test(normalize(el.textContent));
+                  found = [...document.body.querySelectorAll('*')]
+                      .filter(el => !['SCRIPT', 'STYLE', 'NOSCRIPT'].includes(el.tagName) && matches(el)
+                          && ![...el.children].some(matches));
+                }
+                return query.first ? found.slice(0, 1) : found;
+              };
+              return checks.map(check => {
+                const found = find(check.query);
+                const el = found[0];
+                switch (check.kind) {
+                  case 'VISIBLE': return !!el && isVisible(el);
+                  case 'ENABLED': return !!el && !el.disabled && el.getAttribute('aria-disabled') !== 'true';
+                  case 'TEXT': return el ? normalize(el.innerText) : null;
+                  default: return found.length;
+                }
+              });
+            }
+            """;
+    // Resolves to the values once every check passes, so waitForFunction hands them back in the same call.
+    private static final String WAIT_SCRIPT = """
+            checks => {
+              const values = (%s)(checks);
+              const passes = (check, value) => {
+                switch (check.kind) {
+                  case 'TEXT': return value !== null && new RegExp(check.expected.source, check.expected.flags).test(value);
+                  default: return value === check.expected;
+                }
+              };
+              return values.every((value, i) => passes(checks[i], value)) && values;
+            }
+            """.formatted(READ_SCRIPT);
+
+    private enum Kind {
+        VISIBLE, ENABLED, TEXT, COUNT
+    }
+
+    private record Check(Kind kind, ElementQuery query, Object expected) {
+        boolean passes(Object actual) {
+            return switch (kind) {
+                case VISIBLE, ENABLED -> Boolean.TRUE.equals(actual);
+                case TEXT -> actual != null && ((Pattern) expected).matcher((String) actual).find();
+                case COUNT -> actual instanceof Number count && count.intValue() == (Integer) expected;
+            };
+        }
+
+        // The same reading through Playwright's own locator engine; only used for checks that failed in-page.
+        Object readThroughLocator() {
+            Locator locator = query.locator();
+            return switch (kind) {
+                case VISIBLE -> locator.isVisible();
+                case ENABLED -> locator.count() > 0 && locator.first().isEnabled();
+                case TEXT -> locator.count() > 0 ? locator.first().innerText().replaceAll("\\s+", " ").trim() : null;
+                case COUNT -> locator.count();
+            };
+        }
+
+        String describe() {
+            return switch (kind) {
+                case VISIBLE -> query + " is visible";
+                case ENABLED -> query + " is enabled";
+                case TEXT -> query + " has text /" + expected + "/";
+                case COUNT -> query + " count is " + expected;
+            };
+        }
+    }
+
+    private final Page page;
+    private final List<Check> checks = new ArrayList<>();
+
+    private PageChecks(Page page) {
+        this.page = page;
+    }
+
+    public static PageChecks on(Page page) {
+        return new PageChecks(page);
+    }
+
+    public PageChecks visible(ElementQuery query) {
+        checks.add(new Check(Kind.VISIBLE, query, true));
+        return this;
+    }
+
+    public PageChecks enabled(ElementQuery query) {
+        checks.add(new Check(Kind.ENABLED, query, true));
+        return this;
+    }
+
+    public PageChecks text(ElementQuery query, Pattern text) {
+        checks.add(new Check(Kind.TEXT, query, text));
+        return this;
+    }
+
+    public PageChecks count(ElementQuery query, int count) {
+        checks.add(new Check(Kind.COUNT, query, count));
+        return this;
+    }
+
+    // Throws one AssertionError listing every failed check.
+    public void verify() {
+        if (checks.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> batch = batch();
+        List<Object> actual = read(batch);
+        if (!allPass(actual)) {
+            actual = waitForAll(batch);
+        }
+        SoftAssertions softly = new SoftAssertions();
+        for (int i = 0; i < checks.size(); i++) {
+            Check check = checks.get(i);
+            Object value = actual.get(i);
+            if (!check.passes(value)) {
+                value = check.readThroughLocator();
+            }
+            softly.assertThat(check.passes(value)).as(check.describe() + " (was " + value + ")").isTrue();
+        }
+        softly.assertAll();
+    }
+
+    private List<Map<String, Object>> batch() {
+        List<Map<String, Object>> batch = new ArrayList<>(checks.size());
+        for (Check check : checks) {
+            Object expected = check.kind() == Kind.TEXT ? ElementQuery.regex((Pattern) check.expected()) : check.expected();
+            batch.add(Map.of("kind", check.kind().name(), "query", check.query().spec(), "expected", expected));
+        }
+        return batch;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> read(List<Map<String, Object>> batch) {
+        return (List<Object>) page.evaluate(READ_SCRIPT, batch);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> waitForAll(List<Map<String, Object>> batch) {
+        JSHandle values;
+        try {
+            values = page.waitForFunction(WAIT_SCRIPT, batch, new Page.WaitForFunctionOptions().setTimeout(TIMEOUT_MS));
+        } catch (TimeoutError e) {
+            return read(batch);
+        }
+        try {
+            return (List<Object>) values.jsonValue();
+        } finally {
+            values.dispose();
+        }
+    }
+
+    private boolean allPass(List<Object> actual) {
+        for (int i = 0; i < checks.size(); i++) {
+            if (!checks.get(i).passes(actual.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
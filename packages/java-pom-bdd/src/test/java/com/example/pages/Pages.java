@@ -0,0 +1,64 @@
+package com.example.pages;
+
+import com.example.pages.components.CartComponent;
+import com.example.pages.components.HeaderComponent;
+import com.microsoft.playwright.Page;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Page objects for one Page, created on first use and shared by every step running on that Page.
+public final class Pages {
+    private static final Map<Page, Pages> REGISTRY = new ConcurrentHashMap<>();
+
+    private final Page page;
+    private CatalogPage catalog;
+    private CartComponent cart;
+    private HeaderComponent header;
+    private LoginPage login;
+    private RegisterPage register;
+
+    private Pages(Page page) {
+        this.page = page;
+        page.onClose(REGISTRY::remove);
+    }
+
+    public static Pages of(Page page) {
+        return REGISTRY.computeIfAbsent(page, Pages::new);
+    }
+
+    public CatalogPage catalog() {
+        if (catalog == null) {
+            catalog = new CatalogPage(page);
+        }
+        return catalog;
+    }
+
+    public CartComponent cart() {
+        if (cart == null) {
+            cart = new CartComponent(page);
+        }
+        return cart;
+    }
+
+    public HeaderComponent header() {
+        if (header == null) {
+            header = new HeaderComponent(page);
+        }
+        return header;
+    }
+
+    public LoginPage login() {
+        if (login == null) {
+            login = new LoginPage(page);
+        }
+        return login;
+    }
+
+    public RegisterPage register() {
+        if (register == null) {
+            register = new RegisterPage(page);
+        }
+        return register;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.pages;
+
+import java.util.Locale;
+import java.util.Map;
+
+// One product card as read by CatalogPage.products(). price is -1 when the card shows no price.
+public record ProductRecord(String name, int price, String category, boolean addToCartEnabled, boolean visible) {
+
+    static ProductRecord fromMap(Map<?, ?> card) {
+        return new ProductRecord(
+                (String) card.get("name"),
+                parsePrice((String) card.get("price")),
+                (String) card.get("category"),
+                Boolean.TRUE.equals(card.get("enabled")),
+                Boolean.TRUE.equals(card.get("visible")));
+    }
+
+    // Reads "¥12,800" style text digit by digit instead of replace() + parseInt to avoid the intermediate strings.
+    static int parsePrice(CharSequence text) {
+        if (text == null) {
+            return -1;
+        }
+        int value = 0;
+        boolean digits = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                digits = true;
+            } else if (digits && c != ',') {
+                break;
+            }
+        }
+        return digits ? value : -1;
+    }
+
+    public boolean hasPrice() {
+        return price >= 0;
+    }
+
+    // Case-insensitive like the text= selector isProductVisible used before the cards were read in bulk.
+    public boolean nameMatches(String productName) {
+        return name != null && name.toLowerCase(Locale.ROOT).contains(productName.toLowerCase(Locale.ROOT));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.pages;
 
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.WaitForSelectorState;
 
 public class RegisterPage extends BasePage {
     private final Locator dialog;
@@ -32,7 +33,7 @@ public class RegisterPage extends BasePage {
         emailInput.fill(email);
         passwordInput.fill(password);
         confirmPasswordInput.fill(password);
-        registerButton.click();
+        act(registerButton::click);
     }
 
     public void registerWithDifferentPasswords(String username, String email, String password, String confirmPassword) {
@@ -40,6 +41,10 @@ public class RegisterPage extends BasePage {
         emailInput.fill(email);
         passwordInput.fill(password);
         confirmPasswordInput.fill(confirmPassword);
-        registerButton.click();
+        act(registerButton::click);
+    }
+
+    public void waitUntilClosed() {
+        settleOn(dialog, WaitForSelectorState.HIDDEN);
     }
 }
@@ -0,0 +1,12 @@
+package com.example.pages;
+
+public class SettleTimeoutException extends RuntimeException {
+
+    public SettleTimeoutException(String message) {
+        super(message);
+    }
+
+    public SettleTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,32 +1,44 @@
 package com.example.pages.components;
 
+import com.example.pages.BasePage;
+import com.example.pages.ElementQuery;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class CartComponent {
-    private final Page page;
-    private final Locator cartSection;
+public class CartComponent extends BasePage {
+    private static final Pattern YEN_AMOUNT = Pattern.compile("¥([\\d,]+)");
+
+    private final ElementQuery cartSection;
     private final Locator cartTotal;
     private final Locator checkoutButton;
     private final Locator emptyMessage;
+    private final Locator removeButtons;
+    private final Map<String, Locator> removeButtonsByProduct = new HashMap<>();
 
     public CartComponent(Page page) {
-        this.page = page;
-        this.cartSection = page.getByRole(com.microsoft.playwright.options.AriaRole.COMPLEMENTARY);
-        this.cartTotal = cartSection.locator("text=/合計:/");
+        super(page);
+        this.cartSection = ElementQuery.role(page, com.microsoft.playwright.options.AriaRole.COMPLEMENTARY);
+        this.cartTotal = cartSection.locator().locator("text=/合計:/");
         this.checkoutButton = page.getByRole(com.microsoft.playwright.options.AriaRole.BUTTON,
                 new Page.GetByRoleOptions().setName("チェックアウト"));
         this.emptyMessage = page.getByText("カートは空です");
+        this.removeButtons = cartSection.locator().getByRole(com.microsoft.playwright.options.AriaRole.BUTTON,
+                new Locator.GetByRoleOptions().setName("🗑️"));
+    }
+
+    public ElementQuery section() {
+        return cartSection;
     }
 
     public int getTotal() {
         String totalText = cartTotal.textContent();
         if (totalText != null) {
-            Pattern pattern = Pattern.compile("¥([\\d,]+)");
-            Matcher matcher = pattern.matcher(totalText);
+            Matcher matcher = YEN_AMOUNT.matcher(totalText);
             if (matcher.find()) {
                 return Integer.parseInt(matcher.group(1).replace(",", ""));
             }
@@ -35,8 +47,6 @@ public class CartComponent {
     }
 
     public int getItemCount() {
-        Locator removeButtons = cartSection.getByRole(com.microsoft.playwright.options.AriaRole.BUTTON,
-                new Locator.GetByRoleOptions().setName("🗑️"));
         return removeButtons.count();
     }
 
@@ -53,9 +63,13 @@ public class CartComponent {
     }
 
     public void removeItem(String productName) {
-        Locator cartItem = cartSection.locator("text=" + productName)
-                .locator("xpath=ancestor::*[.//button]").first();
-        cartItem.getByRole(com.microsoft.playwright.options.AriaRole.BUTTON,
-                new Locator.GetByRoleOptions().setName("🗑️")).click();
+        act(removeButton(productName)::click);
+    }
+
+    private Locator removeButton(String productName) {
+        return removeButtonsByProduct.computeIfAbsent(productName, name -> cartSection.locator().locator("text=" + name)
+                .locator("xpath=ancestor::*[.//button]").first()
+                .getByRole(com.microsoft.playwright.options.AriaRole.BUTTON,
+                        new Locator.GetByRoleOptions().setName("🗑️")));
     }
 }
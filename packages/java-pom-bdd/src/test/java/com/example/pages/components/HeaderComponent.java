@@ -1,21 +1,28 @@
 package com.example.pages.components;
 
+import com.example.pages.BasePage;
+import com.example.pages.ElementQuery;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
 
-public class HeaderComponent {
-    private final Page page;
+import java.util.regex.Pattern;
+
+public class HeaderComponent extends BasePage {
+    private static final Pattern ENGLISH_TEXT = Pattern.compile("Login|Product|Cart|Checkout");
+    private static final Pattern JAPANESE_TEXT = Pattern.compile("ログイン|商品|カート");
+
+    private final ElementQuery header;
     private final Locator loginButton;
-    private final Locator logoutButton;
+    private final ElementQuery logoutButton;
     private final Locator enButton;
     private final Locator jpButton;
 
     public HeaderComponent(Page page) {
-        this.page = page;
+        super(page);
+        this.header = ElementQuery.css(page, "header").first();
         this.loginButton = page.getByRole(com.microsoft.playwright.options.AriaRole.BUTTON,
                 new Page.GetByRoleOptions().setName("ログイン"));
-        this.logoutButton = page.getByRole(com.microsoft.playwright.options.AriaRole.BUTTON,
-                new Page.GetByRoleOptions().setName("ログアウト"));
+        this.logoutButton = ElementQuery.role(page, com.microsoft.playwright.options.AriaRole.BUTTON, "ログアウト");
         this.enButton = page.getByRole(com.microsoft.playwright.options.AriaRole.BUTTON,
                 new Page.GetByRoleOptions().setName("EN"));
         this.jpButton = page.getByRole(com.microsoft.playwright.options.AriaRole.BUTTON,
@@ -27,7 +34,7 @@ public class HeaderComponent {
     }
 
     public void clickLogout() {
-        logoutButton.click();
+        act(logoutButton.locator()::click);
     }
 
     public boolean isLoginButtonVisible() {
@@ -35,14 +42,35 @@ public class HeaderComponent {
     }
 
     public boolean isLogoutButtonVisible() {
-        return logoutButton.isVisible();
+        return logoutButton.locator().isVisible();
     }
 
     public void switchToEnglish() {
-        enButton.click();
+        act(enButton::click);
     }
 
     public void switchToJapanese() {
-        jpButton.click();
+        act(jpButton::click);
+    }
+
+    public boolean showsEnglish() {
+        return page.getByText(ENGLISH_TEXT).first().isVisible();
+    }
+
+    public boolean showsJapanese() {
+        return page.getByText(JAPANESE_TEXT).first().isVisible();
+    }
+
+    public ElementQuery header() {
+        return header;
+    }
+
+    public ElementQuery logoutButton() {
+        return logoutButton;
+    }
+
+    @Override
+    public byte[] screenshot() {
+        return screenshot(header.locator());
     }
 }
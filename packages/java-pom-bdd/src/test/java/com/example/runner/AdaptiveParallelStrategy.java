@@ -0,0 +1,74 @@
+package com.example.runner;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import com.example.support.MemoryGovernor;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+// Sizes the worker pool from the available cores; MemoryGovernor holds back scenarios when memory runs short.
+// max-parallelism is only an explicit override. Keys are read relative to cucumber.execution.parallel.config.
+public class AdaptiveParallelStrategy implements ParallelExecutionConfigurationStrategy {
+    static final String MAX_PARALLELISM = "custom.max-parallelism";
+    static final String WORKER_MEMORY_MB = "custom.worker-memory-mb";
+    private static final int DEFAULT_WORKER_MEMORY_MB = 512;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters parameters) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int workerMemoryMb = parameters.get(WORKER_MEMORY_MB, Integer::parseInt).orElse(DEFAULT_WORKER_MEMORY_MB);
+        long freeMb = freePhysicalMemoryMb();
+        int byMemory = freeMb < 0 ? cores : (int) Math.max(1, freeMb / workerMemoryMb);
+        int max = parameters.get(MAX_PARALLELISM, Integer::parseInt).orElse(cores);
+        int parallelism = Math.max(1, Math.min(max, MemoryGovernor.enabled() ? cores : Math.min(cores, byMemory)));
+        System.out.printf("[Scheduler] parallelism %d (cores %d, free memory %s allows %d at %d MB per worker, max %d)%s%n",
+                parallelism, cores, freeMb < 0 ? "unknown" : freeMb + " MB", byMemory, workerMemoryMb, max,
+                MemoryGovernor.enabled() ? ", admission within a " + MemoryGovernor.BUDGET_MB + " MB budget" : "");
+        return new Configuration(parallelism);
+    }
+
+    private static long freePhysicalMemoryMb() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getFreeMemorySize() / (1024 * 1024);
+        }
+        return -1;
+    }
+
+    // A fixed pool: the saturate predicate stops ForkJoin from adding compensation threads while workers
+    // block on Playwright, because each extra thread would launch another browser.
+    private record Configuration(int parallelism) implements ParallelExecutionConfiguration {
+        @Override
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMinimumRunnable() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMaxPoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getCorePoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getKeepAliveSeconds() {
+            return 30;
+        }
+
+        @Override
+        public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+            return pool -> true;
+        }
+    }
+}
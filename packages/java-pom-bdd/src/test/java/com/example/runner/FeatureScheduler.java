@@ -0,0 +1,281 @@
+package com.example.runner;
+
+import com.example.support.DurationHistory;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Orders features longest-first by DurationHistory, and with -Dshard=<i>/<n> or -Dimpact.base=<git ref>
+// runs only one shard or the scenarios ImpactSelector finds affected.
+public class FeatureScheduler implements LauncherSessionListener {
+    private static final AtomicInteger SESSIONS = new AtomicInteger();
+    private static final String FEATURES_PROPERTY = "cucumber.features";
+    private static final String PLUGIN_PROPERTY = "cucumber.plugin";
+    private static final String NAME_FILTER_PROPERTY = "cucumber.filter.name";
+    private static final String FEATURES_ROOT = "features";
+    private static final String HISTORY_OUTPUT_PROPERTY = "scenario.history.output";
+    private static final String IMPACT_BASE_PROPERTY = "impact.base";
+    public static final String SHARDS_DIR = "target/shards";
+    public static final String HISTORY_OUTPUT_FILE = "scenario-history.json";
+
+    // Values to put back when the session closes; null for properties that were not set.
+    private final Map<String, String> previousValues = new HashMap<>();
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        int rerun = SESSIONS.getAndIncrement();
+        Shard shard = Shard.parse(System.getProperty("shard"));
+        if (rerun > 0) {
+            String reportDir = (shard == null ? "target" : shard.dir()) + "/reruns/" + rerun;
+            clearProperty(FEATURES_PROPERTY);
+            setProperty(PLUGIN_PROPERTY, redirect(System.getProperty(PLUGIN_PROPERTY, defaultPlugins()), reportDir));
+            if (shard != null) {
+                setProperty(HISTORY_OUTPUT_PROPERTY, Paths.get(shard.dir(), HISTORY_OUTPUT_FILE).toString());
+            }
+            System.out.println("[Scheduler] Rerun " + rerun + " of failed scenarios, reports in " + reportDir);
+            return;
+        }
+        Map<String, Set<Integer>> impact = impactSelection();
+        if (shard != null) {
+            runShard(shard, impact);
+            return;
+        }
+        if (impact != null) {
+            runSelection(impact);
+            return;
+        }
+        if (System.getProperty(FEATURES_PROPERTY) != null
+                || "discovery".equals(System.getProperty("scenario.order"))) {
+            return;
+        }
+        DurationHistory history = DurationHistory.load();
+        if (history.isEmpty()) {
+            return;
+        }
+        List<String> features = features();
+        if (features.isEmpty()) {
+            return;
+        }
+        Map<String, Double> estimates = estimates(features, history);
+        setProperty(FEATURES_PROPERTY, String.join(",", features));
+        System.out.println("[Scheduler] Longest-first feature order from " + DurationHistory.file() + ":"
+                + listing(features, estimates));
+    }
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        previousValues.forEach((key, value) -> {
+            if (value == null) {
+                System.clearProperty(key);
+            } else {
+                System.setProperty(key, value);
+            }
+        });
+        previousValues.clear();
+    }
+
+    // Null when every scenario should run.
+    private static Map<String, Set<Integer>> impactSelection() {
+        String base = System.getProperty(IMPACT_BASE_PROPERTY);
+        if (base == null || base.isBlank()) {
+            return null;
+        }
+        if (System.getProperty(FEATURES_PROPERTY) != null) {
+            throw new IllegalStateException("-D" + IMPACT_BASE_PROPERTY + " cannot be combined with -D" + FEATURES_PROPERTY);
+        }
+        return ImpactSelector.select(base.trim()).orElse(null);
+    }
+
+    private void runSelection(Map<String, Set<Integer>> impact) {
+        List<String> features = selected(features(), impact);
+        DurationHistory history = DurationHistory.load();
+        Map<String, Double> estimates = estimates(features, history);
+        selectFeatures(features, impact);
+        System.out.println("[Scheduler] " + features.size() + " feature(s) affected by the changes"
+                + (history.isEmpty() ? "" : ", longest-first:" + listing(features, estimates)));
+    }
+
+    private void runShard(Shard shard, Map<String, Set<Integer>> impact) {
+        if (System.getProperty(FEATURES_PROPERTY) != null) {
+            throw new IllegalStateException("-Dshard cannot be combined with -D" + FEATURES_PROPERTY);
+        }
+        List<String> features = selected(features(), impact);
+        DurationHistory history = DurationHistory.load();
+        Map<String, Double> estimates = estimates(features, history);
+        double[] load = new double[shard.count()];
+        List<String> assigned = assign(features, estimates, shard, load);
+        selectFeatures(assigned, impact);
+        setProperty(PLUGIN_PROPERTY, redirect(System.getProperty(PLUGIN_PROPERTY, defaultPlugins()), shard.dir()));
+        Path historyOutput = Paths.get(shard.dir(), HISTORY_OUTPUT_FILE);
+        try {
+            Files.deleteIfExists(historyOutput);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete " + historyOutput, e);
+        }
+        setProperty(HISTORY_OUTPUT_PROPERTY, historyOutput.toString());
+        System.out.println(String.format("[Scheduler] Shard %s: %d of %d feature(s), estimated %.1f s of %.1f s%s",
+                shard, assigned.size(), features.size(), load[shard.index() - 1] / 1000,
+                Arrays.stream(load).sum() / 1000, history.isEmpty() ? " (no history, split by count)" : "")
+                + listing(assigned, estimates));
+    }
+
+    // No features (more shards than features, or nothing affected): select everything but let no
+    // scenario through, since an empty cucumber.features would run the whole suite.
+    private void selectFeatures(List<String> features, Map<String, Set<Integer>> impact) {
+        if (features.isEmpty()) {
+            setProperty(NAME_FILTER_PROPERTY, "(?!)");
+        } else {
+            setProperty(FEATURES_PROPERTY, features.stream()
+                    .map(feature -> impact == null ? feature : feature + impact.get(feature).stream()
+                            .map(line -> ":" + line).collect(Collectors.joining()))
+                    .collect(Collectors.joining(",")));
+        }
+    }
+
+    // Deals the features (sorted by estimates()) out to the shard with the least estimated time so far
+    // and returns the ones for shard; load receives every shard's estimated total.
+    static List<String> assign(List<String> features, Map<String, Double> estimates, Shard shard, double[] load) {
+        List<String> assigned = new ArrayList<>();
+        for (String feature : features) {
+            int target = 0;
+            for (int i = 1; i < load.length; i++) {
+                if (load[i] < load[target]) {
+                    target = i;
+                }
+            }
+            load[target] += estimates.get(feature);
+            if (target == shard.index() - 1) {
+                assigned.add(feature);
+            }
+        }
+        return assigned;
+    }
+
+    private static List<String> selected(List<String> features, Map<String, Set<Integer>> impact) {
+        if (impact != null) {
+            features.removeIf(feature -> !impact.containsKey(feature));
+        }
+        return features;
+    }
+
+    // Sorts the features longest-first; ties (and a missing history, where every estimate is 1) by name.
+    static Map<String, Double> estimates(List<String> features, DurationHistory history) {
+        double fallback = history.isEmpty() ? 1 : history.meanFeatureMillis();
+        Map<String, Double> estimates = features.stream().collect(Collectors.toMap(
+                feature -> feature, feature -> history.featureMillis(feature).orElse(fallback)));
+        features.sort(Comparator.comparingDouble((String feature) -> estimates.get(feature)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        return estimates;
+    }
+
+    private static String listing(List<String> features, Map<String, Double> estimates) {
+        return features.stream()
+                .map(feature -> String.format("%n  %8.1f s  %s", estimates.get(feature) / 1000, feature))
+                .collect(Collectors.joining());
+    }
+
+    private static String redirect(String plugins, String dir) {
+        return Arrays.stream(plugins.split(","))
+                .map(plugin -> plugin.replace(":target/", ":" + dir + "/"))
+                .collect(Collectors.joining(","));
+    }
+
+    private void setProperty(String key, String value) {
+        rememberPreviousValue(key);
+        System.setProperty(key, value);
+    }
+
+    private void clearProperty(String key) {
+        rememberPreviousValue(key);
+        System.clearProperty(key);
+    }
+
+    // Not putIfAbsent: that would replace a remembered null.
+    private void rememberPreviousValue(String key) {
+        if (!previousValues.containsKey(key)) {
+            previousValues.put(key, System.getProperty(key));
+        }
+    }
+
+    // The plugin list lives in junit-platform.properties so this system property can override it.
+    private static String defaultPlugins() {
+        try (InputStream in = FeatureScheduler.class.getClassLoader().getResourceAsStream("junit-platform.properties")) {
+            Properties properties = new Properties();
+            if (in != null) {
+                properties.load(in);
+            }
+            return properties.getProperty(PLUGIN_PROPERTY, "");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read junit-platform.properties", e);
+        }
+    }
+
+    private static List<String> features() {
+        URL root = FeatureScheduler.class.getClassLoader().getResource(FEATURES_ROOT);
+        if (root == null || !"file".equals(root.getProtocol())) {
+            return new ArrayList<>();
+        }
+        try {
+            Path dir = Paths.get(root.toURI());
+            try (Stream<Path> files = Files.walk(dir)) {
+                return files.filter(file -> file.toString().endsWith(".feature"))
+                        .map(file -> "classpath:" + FEATURES_ROOT + "/" + dir.relativize(file).toString().replace('\\', '/'))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list features under " + root, e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Unexpected features location " + root, e);
+        }
+    }
+
+    // 1-based, as in -Dshard=2/5.
+    record Shard(int index, int count) {
+        static Shard parse(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            String[] parts = value.trim().split("/");
+            try {
+                if (parts.length == 2) {
+                    Shard shard = new Shard(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+                    if (shard.count() >= 1 && shard.index() >= 1 && shard.index() <= shard.count()) {
+                        return shard;
+                    }
+                }
+            } catch (NumberFormatException ignored) {
+                // reported below
+            }
+            throw new IllegalArgumentException("-Dshard must be <index>/<count> with 1 <= index <= count, got " + value);
+        }
+
+        String dir() {
+            return SHARDS_DIR + "/" + index + "-of-" + count;
+        }
+
+        @Override
+        public String toString() {
+            return index + "/" + count;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.runner;
+
+import com.example.support.ImpactIndex;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Runtime half of ImpactSelector: records the step definitions every scenario is bound to.
+public class ImpactIndexPlugin implements ConcurrentEventListener {
+    private final Path file;
+    private final Map<String, Set<String>> glueByScenario = new ConcurrentHashMap<>();
+
+    public ImpactIndexPlugin() {
+        this(ImpactIndex.FILE.toFile());
+    }
+
+    public ImpactIndexPlugin(File file) {
+        this.file = file.toPath();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> save());
+    }
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        Set<String> glue = new TreeSet<>();
+        event.getTestCase().getTestSteps().forEach(step -> {
+            if (step instanceof PickleStepTestStep pickleStep && pickleStep.getCodeLocation() != null) {
+                glue.add(glueMethod(pickleStep.getCodeLocation()));
+            }
+        });
+        glueByScenario.put(ScenarioDurationPlugin.scenarioId(event.getTestCase()), glue);
+    }
+
+    // "com.example.steps.CartSteps.addToCart(java.lang.String)" -> "com.example.steps.CartSteps.addToCart"
+    static String glueMethod(String codeLocation) {
+        int parameters = codeLocation.indexOf('(');
+        return parameters < 0 ? codeLocation : codeLocation.substring(0, parameters);
+    }
+
+    private void save() {
+        if (glueByScenario.isEmpty()) {
+            return;
+        }
+        ImpactIndex index = ImpactIndex.load(file);
+        glueByScenario.forEach(index::put);
+        index.save(file);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.runner;
+
+import com.example.support.ImpactIndex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Chooses the scenarios affected by the changes since a git ref; changes the ImpactIndex cannot map
+// (hooks, support, runner, pom.xml, resources) select everything.
+final class ImpactSelector {
+    private static final String FEATURES_DIR = "src/test/resources/features/";
+    private static final Path STEPS_DIR = Paths.get("src/test/java/com/example/steps");
+    private static final Path PAGES_DIR = Paths.get("src/test/java/com/example/pages");
+    private static final Path MODULE_DIR = Paths.get("");
+    private static final String STEPS_PACKAGE = "com.example.steps.";
+    // Pages only hands out instances; the steps name the page types they actually use.
+    private static final String REGISTRY = "Pages";
+    private static final Pattern METHOD = Pattern.compile(
+            "(?m)^\\s*(?:public|private|protected)[^;=(]*?\\b(\\w+)\\s*\\([^)]*\\)\\s*(?:throws[^{]+)?\\{");
+    private static final Pattern ACCESSOR = Pattern.compile("public\\s+(\\w+)\\s+(\\w+)\\(\\)");
+
+    private ImpactSelector() {
+    }
+
+    // Feature URI -> lines to run, where no lines means the whole feature. Empty to run everything.
+    static Optional<Map<String, Set<Integer>>> select(String base) {
+        List<String> changed;
+        try {
+            changed = changedFiles(base);
+        } catch (IOException e) {
+            System.out.println("[Impact] Running everything: " + e.getMessage());
+            return Optional.empty();
+        }
+        return select(base, changed, ImpactIndex.load(ImpactIndex.FILE), MODULE_DIR);
+    }
+
+    // changed are paths relative to moduleDir, whose step and page sources are read.
+    static Optional<Map<String, Set<Integer>>> select(String base, List<String> changed, ImpactIndex index, Path moduleDir) {
+        if (index.isEmpty()) {
+            System.out.println("[Impact] Running everything: no " + ImpactIndex.FILE + " from a previous run yet");
+            return Optional.empty();
+        }
+        Map<String, Set<Integer>> selection = new TreeMap<>();
+        Set<String> changedStepClasses = new TreeSet<>();
+        Set<String> changedPages = new TreeSet<>();
+        StringBuilder reasons = new StringBuilder();
+        for (String file : changed) {
+            String name = Paths.get(file).getFileName().toString();
+            if (file.endsWith(".md")) {
+                continue;
+            } else if (file.startsWith(FEATURES_DIR) && file.endsWith(".feature")) {
+                selection.put("classpath:features/" + file.substring(FEATURES_DIR.length()), new TreeSet<>());
+            } else if (Paths.get(file).startsWith(STEPS_DIR) && file.endsWith(".java")) {
+                changedStepClasses.add(STEPS_PACKAGE + name.replace(".java", ""));
+            } else if (Paths.get(file).startsWith(PAGES_DIR) && file.endsWith(".java")) {
+                changedPages.add(name.replace(".java", ""));
+            } else {
+                System.out.println("[Impact] Running everything: " + file + " is not mapped by the impact index");
+                return Optional.empty();
+            }
+            reasons.append(String.format("%n  changed  %s", file));
+        }
+        Map<String, String> pages = sources(moduleDir.resolve(PAGES_DIR));
+        Set<String> affectedPages = dependents(changedPages, pages);
+        Set<String> affectedMethods = new TreeSet<>();
+        stepMethodTypes(pages, sources(moduleDir.resolve(STEPS_DIR))).forEach((method, types) -> {
+            if (types.stream().anyMatch(affectedPages::contains)
+                    || changedStepClasses.contains(method.substring(0, method.lastIndexOf('.')))) {
+                affectedMethods.add(method);
+            }
+        });
+        int scenarios = 0;
+        for (Map.Entry<String, Set<String>> entry : index.scenarios().entrySet()) {
+            if (entry.getValue().stream().anyMatch(affectedMethods::contains)) {
+                String id = entry.getKey();
+                Set<Integer> lines = selection.computeIfAbsent(id.substring(0, id.lastIndexOf(':')), uri -> new TreeSet<>(Set.of(-1)));
+                if (!lines.isEmpty()) {
+                    lines.add(Integer.parseInt(id.substring(id.lastIndexOf(':') + 1)));
+                }
+                scenarios++;
+            }
+        }
+        selection.values().forEach(lines -> lines.remove(-1));
+        if (!affectedPages.isEmpty()) {
+            reasons.append(String.format("%n  pages    %s", String.join(", ", affectedPages)));
+        }
+        System.out.printf("[Impact] %d changed file(s) since %s select %d feature(s)%s%s%n",
+                changed.size(), base, selection.size(),
+                scenarios > 0 ? String.format(" (%d scenario(s) through the index)", scenarios) : "", reasons);
+        return Optional.of(selection);
+    }
+
+    // Changes since base in the working tree, plus untracked files, relative to the module.
+    private static List<String> changedFiles(String base) throws IOException {
+        List<String> files = new ArrayList<>(git("diff", "--name-only", "--relative", base));
+        files.addAll(git("ls-files", "--others", "--exclude-standard"));
+        return files.stream().distinct().sorted().collect(Collectors.toList());
+    }
+
+    private static List<String> git(String... args) throws IOException {
+        List<String> command = new ArrayList<>(List.of("git"));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try {
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            if (!process.waitFor(30, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                throw new IOException(String.join(" ", command) + " failed: " + output.trim());
+            }
+            return output.lines().filter(line -> !line.isBlank()).collect(Collectors.toList());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(String.join(" ", command) + " interrupted", e);
+        }
+    }
+
+    // The changed page classes and every page class that mentions one of them, transitively.
+    private static Set<String> dependents(Set<String> changedPages, Map<String, String> pages) {
+        if (changedPages.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> affected = new TreeSet<>(changedPages);
+        boolean grew = true;
+        while (grew) {
+            grew = false;
+            for (Map.Entry<String, String> page : pages.entrySet()) {
+                if (!page.getKey().equals(REGISTRY) && !affected.contains(page.getKey())
+                        && affected.stream().anyMatch(type -> mentions(page.getValue(), type))) {
+                    grew |= affected.add(page.getKey());
+                }
+            }
+        }
+        return affected;
+    }
+
+    // "com.example.steps.CartSteps.addToCart" -> page types the method (or a helper it calls) uses.
+    private static Map<String, Set<String>> stepMethodTypes(Map<String, String> pages, Map<String, String> steps) {
+        Map<String, String> accessors = new HashMap<>();
+        Matcher accessor = ACCESSOR.matcher(pages.getOrDefault(REGISTRY, ""));
+        while (accessor.find()) {
+            accessors.put(accessor.group(2), accessor.group(1));
+        }
+        Map<String, Set<String>> result = new TreeMap<>();
+        steps.forEach((stepClass, source) -> {
+            Map<String, String> bodies = methodBodies(source);
+            Map<String, Set<String>> direct = new HashMap<>();
+            bodies.forEach((method, body) -> {
+                Set<String> types = new HashSet<>();
+                pages.keySet().stream().filter(type -> mentions(body, type)).forEach(types::add);
+                accessors.forEach((name, type) -> {
+                    if (body.contains("." + name + "()")) {
+                        types.add(type);
+                    }
+                });
+                if (body.contains("getPages()")) {
+                    types.add(REGISTRY);
+                }
+                direct.put(method, types);
+            });
+            bodies.forEach((method, body) -> {
+                Set<String> types = new TreeSet<>(direct.get(method));
+                bodies.keySet().stream()
+                        .filter(other -> !other.equals(method) && Pattern.compile("\\b" + other + "\\s*\\(").matcher(body).find())
+                        .forEach(other -> types.addAll(direct.get(other)));
+                result.put(STEPS_PACKAGE + stepClass + "." + method, types);
+            });
+        });
+        return result;
+    }
+
+    // Method name -> body, found by brace matching after each method header.
+    private static Map<String, String> methodBodies(String source) {
+        Map<String, String> bodies = new HashMap<>();
+        Matcher header = METHOD.matcher(source);
+        while (header.find()) {
+            int depth = 1;
+            int end = header.end();
+            while (end < source.length() && depth > 0) {
+                char c = source.charAt(end++);
+                depth += c == '{' ? 1 : c == '}' ? -1 : 0;
+            }
+            bodies.merge(header.group(1), source.substring(header.end(), end), String::concat);
+        }
+        return bodies;
+    }
+
+    // Simple class name -> source for every .java file under dir.
+    private static Map<String, String> sources(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return Map.of();
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            Map<String, String> sources = new TreeMap<>();
+            for (Path file : files.filter(path -> path.toString().endsWith(".java")).collect(Collectors.toList())) {
+                sources.put(file.getFileName().toString().replace(".java", ""), Files.readString(file, StandardCharsets.UTF_8));
+            }
+            return sources;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read sources under " + dir, e);
+        }
+    }
+
+    private static boolean mentions(String source, String type) {
+        return Pattern.compile("\\b" + type + "\\b").matcher(source).find();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.runner;
+
+import com.example.support.DurationHistory;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Feeds DurationHistory for FeatureScheduler and reports how busy each worker thread was.
+// Events are delivered on the thread that ran the scenario, which is how scenarios map to workers.
+public class ScenarioDurationPlugin implements ConcurrentEventListener {
+    private final Map<String, Double> durations = new ConcurrentHashMap<>();
+    private final Map<String, Worker> workers = new ConcurrentHashMap<>();
+    private volatile Instant runStarted;
+
+    private static final class Worker {
+        final AtomicLong busyNanos = new AtomicLong();
+        final AtomicInteger scenarios = new AtomicInteger();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunStarted.class, event -> runStarted = event.getInstant());
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onTestRunFinished);
+    }
+
+    public static String scenarioId(TestCase testCase) {
+        return testCase.getUri() + ":" + testCase.getLocation().getLine();
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+        Duration duration = event.getResult().getDuration();
+        Worker worker = workers.computeIfAbsent(Thread.currentThread().getName(), name -> new Worker());
+        worker.busyNanos.addAndGet(duration.toNanos());
+        worker.scenarios.incrementAndGet();
+        if (event.getResult().getStatus() != Status.SKIPPED) {
+            durations.put(scenarioId(event.getTestCase()), duration.toNanos() / 1_000_000.0);
+        }
+    }
+
+    private void onTestRunFinished(TestRunFinished event) {
+        if (!durations.isEmpty()) {
+            // A shard keeps this run's durations apart; ShardReportMerger blends them into the history.
+            String output = System.getProperty("scenario.history.output");
+            Path file = output != null ? Paths.get(output) : DurationHistory.file();
+            DurationHistory history = DurationHistory.load(file);
+            durations.forEach(history::record);
+            history.save(file);
+        }
+        if (runStarted != null && !workers.isEmpty()) {
+            System.out.println(utilization(Duration.between(runStarted, event.getInstant())));
+        }
+    }
+
+    private String utilization(Duration wall) {
+        long wallNanos = Math.max(1, wall.toNanos());
+        long busyTotal = 0;
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, Worker> entry : new TreeMap<>(workers).entrySet()) {
+            long busy = entry.getValue().busyNanos.get();
+            busyTotal += busy;
+            report.append(String.format("%n  %-32s %3d scenario(s), busy %6.1f s (%5.1f%%)", entry.getKey(),
+                    entry.getValue().scenarios.get(), busy / 1e9, 100.0 * busy / wallNanos));
+        }
+        return String.format("[Scheduler] %d worker(s) over %.1f s wall time, overall utilization %.1f%%",
+                workers.size(), wallNanos / 1e9, 100.0 * busyTotal / wallNanos / workers.size()) + report;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.runner;
+
+import com.example.support.DurationHistory;
+import com.example.support.ImpactIndex;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Merges the reports, durations and step bindings of a sharded run into the locations a single run writes to.
+//   mvn exec:java -Dexec.mainClass=com.example.runner.ShardReportMerger -Dexec.classpathScope=test
+public final class ShardReportMerger {
+    private static final Path CUCUMBER_REPORTS = Paths.get("target/cucumber-reports");
+    private static final Path TIMING_REPORT = Paths.get("target/timing-report");
+    private static final String CUCUMBER_JSON = "cucumber-reports/cucumber.json";
+
+    private ShardReportMerger() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> shards = args.length > 0
+                ? Stream.of(args).map(Paths::get).collect(Collectors.toList())
+                : shardDirs(Paths.get(FeatureScheduler.SHARDS_DIR));
+        if (shards.isEmpty()) {
+            throw new IllegalStateException("No shard reports found under " + FeatureScheduler.SHARDS_DIR);
+        }
+        JsonArray features = new JsonArray();
+        StringBuilder rows = new StringBuilder();
+        TimingReport timings = new TimingReport();
+        DurationHistory history = DurationHistory.load();
+        ImpactIndex impactIndex = ImpactIndex.load(ImpactIndex.FILE);
+        int scenarios = 0;
+        int failed = 0;
+        for (Path shard : shards) {
+            if (!Files.isRegularFile(shard.resolve(CUCUMBER_JSON))) {
+                System.err.println("[ShardReportMerger] No Cucumber JSON in " + shard);
+            }
+            for (JsonObject feature : features(shard)) {
+                features.add(feature);
+                FeatureResult result = FeatureResult.of(feature);
+                scenarios += result.scenarios();
+                failed += result.failed();
+                rows.append(result.toRow(shard.getFileName().toString()));
+            }
+            for (Path execution : executions(shard)) {
+                Path timingJson = execution.resolve("timing-report/timings.json");
+                if (Files.isRegularFile(timingJson)) {
+                    timings.merge(timingJson);
+                }
+            }
+            history.recordAll(DurationHistory.load(shard.resolve(FeatureScheduler.HISTORY_OUTPUT_FILE)));
+            impactIndex.putAll(ImpactIndex.load(shard.resolve(ImpactIndex.FILE.getFileName())));
+        }
+        Files.createDirectories(CUCUMBER_REPORTS);
+        Files.writeString(CUCUMBER_REPORTS.resolve("cucumber.json"),
+                new GsonBuilder().setPrettyPrinting().create().toJson(features), StandardCharsets.UTF_8);
+        Files.writeString(CUCUMBER_REPORTS.resolve("merged.html"),
+                summaryHtml(shards.size(), scenarios, failed, rows), StandardCharsets.UTF_8);
+        timings.write(TIMING_REPORT);
+        history.save();
+        if (!impactIndex.isEmpty()) {
+            impactIndex.save(ImpactIndex.FILE);
+        }
+        System.out.printf("[ShardReportMerger] %d shard(s), %d feature(s), %d scenario(s), %d failed -> %s, %s, %s%n",
+                shards.size(), features.size(), scenarios, failed,
+                CUCUMBER_REPORTS.resolve("merged.html"), TIMING_REPORT.resolve("timings.html"), DurationHistory.file());
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    // The first execution's features, with every scenario Surefire reran replaced by its last attempt.
+    private static List<JsonObject> features(Path shard) throws IOException {
+        List<Path> executions = executions(shard);
+        List<JsonObject> features = readFeatures(executions.get(0).resolve(CUCUMBER_JSON));
+        for (Path rerun : executions.subList(1, executions.size())) {
+            for (JsonObject rerunFeature : readFeatures(rerun.resolve(CUCUMBER_JSON))) {
+                features.stream()
+                        .filter(feature -> feature.get("uri").equals(rerunFeature.get("uri")))
+                        .findFirst()
+                        .ifPresent(feature -> replaceScenarios(feature.getAsJsonArray("elements"),
+                                rerunFeature.getAsJsonArray("elements")));
+            }
+        }
+        return features;
+    }
+
+    private static void replaceScenarios(JsonArray elements, JsonArray rerunElements) {
+        for (JsonElement rerun : rerunElements) {
+            if (!"scenario".equals(rerun.getAsJsonObject().get("type").getAsString())) {
+                continue;
+            }
+            for (int i = 0; i < elements.size(); i++) {
+                JsonObject element = elements.get(i).getAsJsonObject();
+                if ("scenario".equals(element.get("type").getAsString())
+                        && element.get("line").equals(rerun.getAsJsonObject().get("line"))) {
+                    elements.set(i, rerun);
+                }
+            }
+        }
+    }
+
+    private static List<JsonObject> readFeatures(Path json) throws IOException {
+        List<JsonObject> features = new ArrayList<>();
+        if (Files.isRegularFile(json)) {
+            for (JsonElement feature : JsonParser.parseString(Files.readString(json, StandardCharsets.UTF_8)).getAsJsonArray()) {
+                features.add(feature.getAsJsonObject());
+            }
+        }
+        return features;
+    }
+
+    // The shard directory itself, then reruns/1, reruns/2, ... (see FeatureScheduler).
+    private static List<Path> executions(Path shard) throws IOException {
+        List<Path> executions = new ArrayList<>(List.of(shard));
+        Path reruns = shard.resolve("reruns");
+        if (Files.isDirectory(reruns)) {
+            try (Stream<Path> dirs = Files.list(reruns)) {
+                dirs.filter(dir -> dir.getFileName().toString().matches("\\d+"))
+                        .sorted(Comparator.comparingInt(dir -> Integer.parseInt(dir.getFileName().toString())))
+                        .forEach(executions::add);
+            }
+        }
+        return executions;
+    }
+
+    private static List<Path> shardDirs(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> dirs = Files.list(root)) {
+            return dirs.filter(Files::isDirectory).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static String summaryHtml(int shards, int scenarios, int failed, CharSequence rows) {
+        return """
+                <!DOCTYPE html>
+                <html lang="ja">
+                <head>
+                <meta charset="UTF-8">
+                <title>Sharded Run</title>
+                <style>
+                  body { font-family: sans-serif; margin: 16px; }
+                  table { border-collapse: collapse; }
+                  th, td { border: 1px solid #ccc; padding: 4px 8px; }
+                  td.num { text-align: right; font-variant-numeric: tabular-nums; }
+                  tr.failed td { background: #fdd; }
+                </style>
+                </head>
+                <body>
+                <h1>Sharded Run</h1>
+                """
+                + String.format("<p>%d shard(s), %d scenario(s), %d failed. Durations in s.</p>%n", shards, scenarios, failed)
+                + "<table>\n<tr><th>shard</th><th>feature</th><th>scenarios</th><th>failed</th><th>duration</th></tr>\n"
+                + rows
+                + "</table>\n</body>\n</html>\n";
+    }
+
+    // A scenario fails when any of its steps or hooks did not pass or skip.
+    private record FeatureResult(String name, String uri, int scenarios, int failed, long durationNanos) {
+        static FeatureResult of(JsonObject feature) {
+            int scenarios = 0;
+            int failed = 0;
+            long nanos = 0;
+            JsonArray elements = feature.has("elements") ? feature.getAsJsonArray("elements") : new JsonArray();
+            for (JsonElement element : elements) {
+                JsonObject scenario = element.getAsJsonObject();
+                if (!"scenario".equals(scenario.get("type").getAsString())) {
+                    continue;
+                }
+                scenarios++;
+                boolean passed = true;
+                for (JsonObject result : results(scenario)) {
+                    String status = result.get("status").getAsString();
+                    passed &= "passed".equals(status) || "skipped".equals(status);
+                    if (result.has("duration")) {
+                        nanos += result.get("duration").getAsLong();
+                    }
+                }
+                if (!passed) {
+                    failed++;
+                }
+            }
+            return new FeatureResult(feature.get("name").getAsString(), feature.get("uri").getAsString(),
+                    scenarios, failed, nanos);
+        }
+
+        private static List<JsonObject> results(JsonObject scenario) {
+            List<JsonObject> results = new ArrayList<>();
+            for (String key : List.of("before", "steps", "after")) {
+                if (scenario.has(key)) {
+                    for (JsonElement step : scenario.getAsJsonArray(key)) {
+                        results.add(step.getAsJsonObject().getAsJsonObject("result"));
+                    }
+                }
+            }
+            return results;
+        }
+
+        String toRow(String shard) {
+            return String.format("<tr%s><td>%s</td><td title=\"%s\">%s</td><td class=\"num\">%d</td>"
+                            + "<td class=\"num\">%d</td><td class=\"num\">%.1f</td></tr>%n",
+                    failed > 0 ? " class=\"failed\"" : "", TimingReport.escape(shard), TimingReport.escape(uri),
+                    TimingReport.escape(name), scenarios, failed, durationNanos / 1e9);
+        }
+    }
+}
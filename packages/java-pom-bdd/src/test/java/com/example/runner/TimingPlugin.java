@@ -0,0 +1,113 @@
+package com.example.runner;
+
+import com.example.support.LatencyHistogram;
+import com.example.support.Timings;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Records step, hook and Playwright call latency and writes a p50/p95/p99 TimingReport when the run finishes.
+public class TimingPlugin implements ConcurrentEventListener {
+    private static final int SLOWEST_SHOWN = 5;
+
+    private final Path outputDir;
+    private final Map<String, LatencyHistogram> steps = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> hooks = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> stepAllocatedBytes = new ConcurrentHashMap<>();
+    private final ThreadLocal<long[]> stepAllocationStart = ThreadLocal.withInitial(() -> new long[1]);
+
+    public TimingPlugin() {
+        this(new File("target/timing-report"));
+    }
+
+    public TimingPlugin(File outputDir) {
+        this.outputDir = outputDir.toPath();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepStarted.class, this::onStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> writeReport());
+    }
+
+    private void onStepStarted(TestStepStarted event) {
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            stepAllocationStart.get()[0] = allocatedBytes();
+        }
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        long nanos = event.getResult().getDuration().toNanos();
+        if (event.getTestStep() instanceof PickleStepTestStep step) {
+            histogram(steps, step.getPattern()).recordNanos(nanos);
+            long start = stepAllocationStart.get()[0];
+            long end = allocatedBytes();
+            if (start >= 0 && end >= 0) {
+                LongAdder bytes = stepAllocatedBytes.get(step.getPattern());
+                if (bytes == null) {
+                    bytes = stepAllocatedBytes.computeIfAbsent(step.getPattern(), k -> new LongAdder());
+                }
+                bytes.add(end - start);
+            }
+        } else if (event.getTestStep() instanceof HookTestStep hook) {
+            histogram(hooks, hook.getHookType() + " " + hook.getCodeLocation()).recordNanos(nanos);
+        }
+    }
+
+    // get() first so the common case does not allocate a lambda capture.
+    private static LatencyHistogram histogram(Map<String, LatencyHistogram> histograms, String key) {
+        LatencyHistogram histogram = histograms.get(key);
+        return histogram != null ? histogram : histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+    }
+
+    // -1 when the JVM cannot report per-thread allocation.
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private void writeReport() {
+        TimingReport report = new TimingReport();
+        steps.forEach((name, histogram) ->
+                report.add("step", new TimingReport.Row(name, histogram, stepAllocatedBytes.get(name))));
+        hooks.forEach((name, histogram) -> report.add("hook", new TimingReport.Row(name, histogram, null)));
+        for (Timings.Bucket bucket : Timings.Bucket.values()) {
+            if (Timings.histogram(bucket).count() > 0) {
+                report.add("playwright", new TimingReport.Row(bucket.label(), Timings.histogram(bucket), null));
+            }
+        }
+        try {
+            report.write(outputDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write timing report to " + outputDir, e);
+        }
+        System.out.println(summary(report.rows("step")));
+    }
+
+    private String summary(List<TimingReport.Row> stepRows) {
+        StringBuilder summary = new StringBuilder("[TimingPlugin] Report written to ")
+                .append(outputDir.resolve("timings.html")).append("; slowest steps by p95:");
+        for (TimingReport.Row row : stepRows.subList(0, Math.min(SLOWEST_SHOWN, stepRows.size()))) {
+            summary.append(String.format("%n  %8.1f ms  %s", row.histogram().percentileMillis(95), row.name()));
+        }
+        return summary.toString();
+    }
+}
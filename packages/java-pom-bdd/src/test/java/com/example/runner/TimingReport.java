@@ -0,0 +1,168 @@
+package com.example.runner;
+
+import com.example.support.LatencyHistogram;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// timings.json / timings.html as written by TimingPlugin. The JSON keeps the raw histogram buckets, so
+// reports of several shards can be read back and merged without losing percentiles.
+final class TimingReport {
+    private static final double[] PERCENTILES = {50, 95, 99};
+
+    private final Map<String, Map<String, Row>> sections = new LinkedHashMap<>();
+
+    // allocatedBytes is null when allocation is not tracked for the row.
+    record Row(String name, LatencyHistogram histogram, LongAdder allocatedBytes) {
+        double allocatedKbPerCall() {
+            return allocatedBytes == null || histogram.count() == 0
+                    ? -1 : allocatedBytes.sum() / 1024.0 / histogram.count();
+        }
+    }
+
+    void add(String section, Row row) {
+        sections.computeIfAbsent(section, s -> new LinkedHashMap<>()).put(row.name(), row);
+    }
+
+    // Slowest first by p95.
+    List<Row> rows(String section) {
+        List<Row> rows = new ArrayList<>(sections.getOrDefault(section, Map.of()).values());
+        rows.sort(Comparator.comparingDouble((Row row) -> row.histogram().percentileMillis(95)).reversed());
+        return rows;
+    }
+
+    static TimingReport read(Path json) throws IOException {
+        TimingReport report = new TimingReport();
+        report.merge(json);
+        return report;
+    }
+
+    void merge(Path json) throws IOException {
+        JsonObject root = JsonParser.parseString(Files.readString(json, StandardCharsets.UTF_8)).getAsJsonObject();
+        for (Map.Entry<String, JsonElement> section : root.getAsJsonObject("sections").entrySet()) {
+            Map<String, Row> rows = sections.computeIfAbsent(section.getKey(), s -> new LinkedHashMap<>());
+            for (JsonElement element : section.getValue().getAsJsonArray()) {
+                JsonObject entry = element.getAsJsonObject();
+                JsonObject raw = entry.getAsJsonObject("histogram");
+                boolean tracksAllocation = raw.has("allocatedBytes");
+                Row row = rows.computeIfAbsent(entry.get("name").getAsString(), name ->
+                        new Row(name, new LatencyHistogram(), tracksAllocation ? new LongAdder() : null));
+                Map<Integer, Long> buckets = new TreeMap<>();
+                raw.getAsJsonObject("buckets").entrySet()
+                        .forEach(bucket -> buckets.put(Integer.parseInt(bucket.getKey()), bucket.getValue().getAsLong()));
+                row.histogram().merge(buckets, raw.get("sumMicros").getAsLong(), raw.get("maxMicros").getAsLong());
+                if (tracksAllocation && row.allocatedBytes() != null) {
+                    row.allocatedBytes().add(raw.get("allocatedBytes").getAsLong());
+                }
+            }
+        }
+    }
+
+    void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("timings.json"), toJson(), StandardCharsets.UTF_8);
+        Files.writeString(dir.resolve("timings.html"), toHtml(), StandardCharsets.UTF_8);
+    }
+
+    private String toJson() {
+        JsonObject root = new JsonObject();
+        root.addProperty("generatedAt", Instant.now().toString());
+        root.addProperty("unit", "ms");
+        JsonObject sectionsJson = new JsonObject();
+        for (String section : sections.keySet()) {
+            JsonArray entries = new JsonArray();
+            for (Row row : rows(section)) {
+                LatencyHistogram histogram = row.histogram();
+                JsonObject entry = new JsonObject();
+                entry.addProperty("name", row.name());
+                entry.addProperty("count", histogram.count());
+                entry.addProperty("mean", histogram.meanMillis());
+                for (double percentile : PERCENTILES) {
+                    entry.addProperty("p" + (int) percentile, histogram.percentileMillis(percentile));
+                }
+                entry.addProperty("max", histogram.maxMillis());
+                if (row.allocatedKbPerCall() >= 0) {
+                    entry.addProperty("allocatedKbPerCall", row.allocatedKbPerCall());
+                }
+                JsonObject raw = new JsonObject();
+                raw.addProperty("sumMicros", histogram.sumMicros());
+                raw.addProperty("maxMicros", histogram.maxMicros());
+                if (row.allocatedBytes() != null) {
+                    raw.addProperty("allocatedBytes", row.allocatedBytes().sum());
+                }
+                JsonObject buckets = new JsonObject();
+                histogram.buckets().forEach((bucket, count) -> buckets.addProperty(String.valueOf(bucket), count));
+                raw.add("buckets", buckets);
+                entry.add("histogram", raw);
+                entries.add(entry);
+            }
+            sectionsJson.add(section, entries);
+        }
+        root.add("sections", sectionsJson);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    private String toHtml() {
+        StringBuilder html = new StringBuilder("""
+                <!DOCTYPE html>
+                <html lang="ja">
+                <head>
+                <meta charset="UTF-8">
+                <title>Timing Report</title>
+                <style>
+                  body { font-family: sans-serif; margin: 16px; }
+                  table { border-collapse: collapse; margin-bottom: 24px; }
+                  th, td { border: 1px solid #ccc; padding: 4px 8px; }
+                  td.num { text-align: right; font-variant-numeric: tabular-nums; }
+                </style>
+                </head>
+                <body>
+                <h1>Timing Report</h1>
+                """);
+        html.append("<p>Generated at ").append(Instant.now()).append(". All times in ms, sorted by p95; alloc is heap allocated by the step's thread.</p>\n");
+        for (String section : sections.keySet()) {
+            html.append("<h2>").append(section).append("</h2>\n<table>\n<tr><th>name</th><th>count</th><th>mean</th>");
+            for (double percentile : PERCENTILES) {
+                html.append("<th>p").append((int) percentile).append("</th>");
+            }
+            html.append("<th>max</th><th>alloc KB/call</th></tr>\n");
+            for (Row row : rows(section)) {
+                LatencyHistogram histogram = row.histogram();
+                html.append("<tr><td>").append(escape(row.name())).append("</td>")
+                        .append("<td class=\"num\">").append(histogram.count()).append("</td>")
+                        .append(cell(histogram.meanMillis()));
+                for (double percentile : PERCENTILES) {
+                    html.append(cell(histogram.percentileMillis(percentile)));
+                }
+                html.append(cell(histogram.maxMillis()))
+                        .append(row.allocatedKbPerCall() >= 0 ? cell(row.allocatedKbPerCall()) : "<td></td>")
+                        .append("</tr>\n");
+            }
+            html.append("</table>\n");
+        }
+        return html.append("</body>\n</html>\n").toString();
+    }
+
+    static String cell(double value) {
+        return String.format("<td class=\"num\">%.1f</td>", value);
+    }
+
+    static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
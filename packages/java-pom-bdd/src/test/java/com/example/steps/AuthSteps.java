@@ -4,6 +4,8 @@ import com.example.hooks.BrowserHooks;
 import com.example.pages.LoginPage;
 import com.example.pages.RegisterPage;
 import com.example.pages.components.HeaderComponent;
+import com.example.support.AuthStateCache;
+import com.example.support.ShopTodo;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -15,89 +17,93 @@ public class AuthSteps {
 
     @Given("ログイン済みである")
     public void loggedIn() {
-        HeaderComponent header = new HeaderComponent(BrowserHooks.getPage());
+        HeaderComponent header = BrowserHooks.getPages().header();
+        if (BrowserHooks.isAuthStateInjected()) {
+            header.settle();
+            if (header.isLogoutButtonVisible()) {
+                return;
+            }
+            AuthStateCache.reject(ShopTodo.DEMO_USER, ShopTodo.homeUrl());
+        }
         header.clickLogin();
-        LoginPage loginPage = new LoginPage(BrowserHooks.getPage());
-        loginPage.login("demo", "Demo@2025!");
-        BrowserHooks.getPage().waitForTimeout(500);
+        LoginPage loginPage = BrowserHooks.getPages().login();
+        loginPage.login(ShopTodo.DEMO_USER, ShopTodo.DEMO_PASSWORD);
+        loginPage.waitUntilClosed();
+        AuthStateCache.put(ShopTodo.DEMO_USER, ShopTodo.homeUrl(), BrowserHooks.getContext().storageState());
     }
 
     @When("ログインボタンをクリックする")
     public void clickLoginButton() {
-        HeaderComponent header = new HeaderComponent(BrowserHooks.getPage());
+        HeaderComponent header = BrowserHooks.getPages().header();
         header.clickLogin();
     }
 
     @When("ユーザー名{string}とパスワード{string}でログインする")
     public void loginWithCredentials(String username, String password) {
-        LoginPage loginPage = new LoginPage(BrowserHooks.getPage());
+        LoginPage loginPage = BrowserHooks.getPages().login();
         loginPage.login(username, password);
-        BrowserHooks.getPage().waitForTimeout(300);
     }
 
     @Then("ログインに成功する")
     public void verifyLoginSuccess() {
-        BrowserHooks.getPage().waitForTimeout(500);
-        LoginPage loginPage = new LoginPage(BrowserHooks.getPage());
+        LoginPage loginPage = BrowserHooks.getPages().login();
+        loginPage.waitUntilClosed();
         assertThat(loginPage.isVisible()).isFalse();
     }
 
     @Then("ログインダイアログが表示されたままである")
     public void verifyLoginDialogStillVisible() {
-        LoginPage loginPage = new LoginPage(BrowserHooks.getPage());
+        LoginPage loginPage = BrowserHooks.getPages().login();
         assertThat(loginPage.isVisible()).isTrue();
     }
 
     @Then("ログアウトボタンが表示される")
     public void verifyLogoutButtonVisible() {
-        HeaderComponent header = new HeaderComponent(BrowserHooks.getPage());
+        HeaderComponent header = BrowserHooks.getPages().header();
         assertThat(header.isLogoutButtonVisible()).isTrue();
     }
 
     @Then("ログインボタンが表示される")
     public void verifyLoginButtonVisible() {
-        HeaderComponent header = new HeaderComponent(BrowserHooks.getPage());
+        HeaderComponent header = BrowserHooks.getPages().header();
         assertThat(header.isLoginButtonVisible()).isTrue();
     }
 
     @When("ログアウトする")
     public void logout() {
-        HeaderComponent header = new HeaderComponent(BrowserHooks.getPage());
+        HeaderComponent header = BrowserHooks.getPages().header();
         header.clickLogout();
-        BrowserHooks.getPage().waitForTimeout(300);
     }
 
     // Register steps
     @And("新規登録リンクをクリックする")
     public void clickRegisterLink() {
-        LoginPage loginPage = new LoginPage(BrowserHooks.getPage());
+        LoginPage loginPage = BrowserHooks.getPages().login();
         loginPage.clickRegisterLink();
     }
 
     @When("ユーザー名{string}、メール{string}、パスワード{string}で登録する")
     public void registerWithCredentials(String username, String email, String password) {
-        RegisterPage registerPage = new RegisterPage(BrowserHooks.getPage());
+        RegisterPage registerPage = BrowserHooks.getPages().register();
         registerPage.register(username, email, password);
-        BrowserHooks.getPage().waitForTimeout(300);
     }
 
     @When("ユーザー名{string}、メール{string}、パスワード{string}、確認パスワード{string}で登録する")
     public void registerWithDifferentPasswords(String username, String email, String password, String confirmPassword) {
-        RegisterPage registerPage = new RegisterPage(BrowserHooks.getPage());
+        RegisterPage registerPage = BrowserHooks.getPages().register();
         registerPage.registerWithDifferentPasswords(username, email, password, confirmPassword);
-        BrowserHooks.getPage().waitForTimeout(300);
     }
 
     @Then("登録ダイアログが閉じる")
     public void verifyRegisterDialogClosed() {
-        RegisterPage registerPage = new RegisterPage(BrowserHooks.getPage());
-        BrowserHooks.getPage().waitForTimeout(500);
+        RegisterPage registerPage = BrowserHooks.getPages().register();
+        registerPage.waitUntilClosed();
         assertThat(registerPage.isVisible()).isFalse();
     }
 
     @Then("登録ダイアログが表示されたままである")
     public void verifyRegisterDialogStillVisible() {
-        RegisterPage registerPage = new RegisterPage(BrowserHooks.getPage());
+        RegisterPage registerPage = BrowserHooks.getPages().register();
         assertThat(registerPage.isVisible()).isTrue();
     }
 }
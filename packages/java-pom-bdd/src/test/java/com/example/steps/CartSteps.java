@@ -13,56 +13,54 @@ public class CartSteps {
 
     @When("{string}をカートに追加する")
     public void addToCart(String productName) {
-        CatalogPage catalogPage = new CatalogPage(BrowserHooks.getPage());
+        CatalogPage catalogPage = BrowserHooks.getPages().catalog();
         catalogPage.addToCart(productName);
-        BrowserHooks.getPage().waitForTimeout(300);
     }
 
     @Then("カートに商品が{int}件ある")
     public void verifyCartItemCount(int expectedCount) {
-        CartComponent cartComponent = new CartComponent(BrowserHooks.getPage());
-        BrowserHooks.getPage().waitForTimeout(300);
+        CartComponent cartComponent = BrowserHooks.getPages().cart();
+        cartComponent.settle();
         int count = cartComponent.getItemCount();
         assertThat(count).isEqualTo(expectedCount);
     }
 
     @Then("カートの合計が{int}円より大きい")
     public void verifyCartTotalGreaterThan(int minAmount) {
-        CartComponent cartComponent = new CartComponent(BrowserHooks.getPage());
+        CartComponent cartComponent = BrowserHooks.getPages().cart();
         int total = cartComponent.getTotal();
         assertThat(total).isGreaterThan(minAmount);
     }
 
     @Then("カートの合計が正しい")
     public void verifyCartTotalIsCorrect() {
-        CartComponent cartComponent = new CartComponent(BrowserHooks.getPage());
+        CartComponent cartComponent = BrowserHooks.getPages().cart();
         int total = cartComponent.getTotal();
         assertThat(total).isGreaterThan(0);
     }
 
     @Then("{string}のカートに追加ボタンが無効である")
     public void verifyAddToCartDisabled(String productName) {
-        CatalogPage catalogPage = new CatalogPage(BrowserHooks.getPage());
+        CatalogPage catalogPage = BrowserHooks.getPages().catalog();
         boolean isEnabled = catalogPage.isAddToCartEnabled(productName);
         assertThat(isEnabled).isFalse();
     }
 
     @When("カートから{string}を削除する")
     public void removeFromCart(String productName) {
-        CartComponent cartComponent = new CartComponent(BrowserHooks.getPage());
+        CartComponent cartComponent = BrowserHooks.getPages().cart();
         cartComponent.removeItem(productName);
-        BrowserHooks.getPage().waitForTimeout(300);
     }
 
     @Then("カートが空である")
     public void verifyCartIsEmpty() {
-        CartComponent cartComponent = new CartComponent(BrowserHooks.getPage());
+        CartComponent cartComponent = BrowserHooks.getPages().cart();
         assertThat(cartComponent.isEmpty()).isTrue();
     }
 
     @Then("チェックアウトボタンが有効である")
     public void verifyCheckoutEnabled() {
-        CartComponent cartComponent = new CartComponent(BrowserHooks.getPage());
+        CartComponent cartComponent = BrowserHooks.getPages().cart();
         assertThat(cartComponent.isCheckoutEnabled()).isTrue();
     }
 }
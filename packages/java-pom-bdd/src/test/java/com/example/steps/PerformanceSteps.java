@@ -0,0 +1,27 @@
+package com.example.steps;
+
+import com.example.hooks.BrowserHooks;
+import com.example.hooks.PerformanceHooks;
+import com.example.support.PerformanceBudget;
+import com.example.support.WebVitals;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+
+import java.util.List;
+import java.util.Map;
+
+public class PerformanceSteps {
+
+    // Checked against every document of the scenario when it ends, like the @budget-* tags.
+    @Given("性能予算を設定する:")
+    public void setBudget(Map<String, String> limits) {
+        PerformanceHooks.budget().setAll(limits);
+    }
+
+    @Then("ページの性能が予算内である:")
+    public void verifyCurrentPage(Map<String, String> limits) {
+        PerformanceBudget budget = new PerformanceBudget();
+        budget.setAll(limits);
+        PerformanceHooks.report(budget.violations(List.of(WebVitals.current(BrowserHooks.getPage()))));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.steps;
+
+import com.example.hooks.BrowserHooks;
+import com.example.pages.ElementQuery;
+import com.example.pages.PageChecks;
+import com.example.pages.Pages;
+import io.cucumber.datatable.DataTable;
+import io.cucumber.java.en.Then;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+// Every listed element is checked in one PageChecks batch, and all failures are reported together.
+public class SoftAssertionSteps {
+    private static final Pattern SAMPLE_PRODUCTS = Pattern.compile("スマートフォン|ノートパソコン|Tシャツ");
+
+    private static final Map<String, Function<Pages, ElementQuery>> HOME_ELEMENTS = Map.of(
+            "ヘッダー", pages -> pages.header().header(),
+            "商品カタログ", pages -> pages.catalog().addToCartButtons().first(),
+            "カテゴリタブ", pages -> pages.catalog().categoryTabs(),
+            "検索ボックス", pages -> pages.catalog().searchBox());
+
+    private static final Map<String, Function<Pages, ElementQuery>> LOGGED_IN_ELEMENTS = Map.of(
+            "ログアウトボタン", pages -> pages.header().logoutButton(),
+            "カート", pages -> pages.cart().section().first(),
+            "商品一覧", pages -> pages.catalog().addToCartButtons().first());
+
+    private static final Map<String, Function<Pages, ElementQuery>> PRODUCT_CARD_ELEMENTS = Map.of(
+            "商品画像", pages -> pages.catalog().productImages(SAMPLE_PRODUCTS).first(),
+            "商品名", pages -> pages.catalog().productNames(SAMPLE_PRODUCTS).first(),
+            "価格", pages -> pages.catalog().prices().first(),
+            "カートに追加ボタン", pages -> pages.catalog().addToCartButtons().first());
+
+    @Then("以下の要素がすべて正しく表示される（Soft Assertions）")
+    public void verifyHomeElements(DataTable table) {
+        verifyVisible(HOME_ELEMENTS, table);
+    }
+
+    @Then("ログイン後の以下の要素がすべて正しく表示される（Soft Assertions）")
+    public void verifyLoggedInElements(DataTable table) {
+        verifyVisible(LOGGED_IN_ELEMENTS, table);
+    }
+
+    @Then("商品カードに以下の要素が含まれる（Soft Assertions）")
+    public void verifyProductCardElements(DataTable table) {
+        verifyVisible(PRODUCT_CARD_ELEMENTS, table);
+    }
+
+    private void verifyVisible(Map<String, Function<Pages, ElementQuery>> elements, DataTable table) {
+        Pages pages = BrowserHooks.getPages();
+        PageChecks checks = PageChecks.on(BrowserHooks.getPage());
+        List<String> names = table.rows(1).asList();
+        for (String name : names) {
+            Function<Pages, ElementQuery> element = elements.get(name);
+            if (element == null) {
+                throw new IllegalArgumentException("Unknown element: " + name + " (known: " + elements.keySet() + ")");
+            }
+            checks.visible(element.apply(pages));
+        }
+        checks.verify();
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.steps;
+
+import com.example.hooks.BrowserHooks;
+import com.example.pages.CatalogPage;
+import com.example.pages.LoginPage;
+import com.example.pages.Pages;
+import com.example.pages.components.CartComponent;
+import com.example.pages.components.HeaderComponent;
+import com.example.support.AppState;
+import com.example.support.ShopTodo;
+import com.example.support.StateSeeder;
+import io.cucumber.java.en.Given;
+
+import java.util.Map;
+
+public class StateSteps {
+
+    // For scenarios that only need to start from a state; the UI steps stay for the scenarios that test it.
+    @Given("次の状態でShopTodoのホームページを開く:")
+    public void openHomePageIn(Map<String, String> rows) {
+        AppState state = AppState.of(rows);
+        String url = ShopTodo.homeUrl();
+        if (StateSeeder.seed(BrowserHooks.getContext(), state, url)) {
+            open(url);
+            if (!StateSeeder.needsVerification(state, url)) {
+                return;
+            }
+            if (matches(state)) {
+                StateSeeder.verified(state, url);
+                return;
+            }
+            StateSeeder.reject(BrowserHooks.getPage(), state, url);
+        }
+        open(url);
+        build(state);
+        StateSeeder.capture(BrowserHooks.getPage(), state, url);
+    }
+
+    private void open(String url) {
+        CatalogPage catalogPage = BrowserHooks.getPages().catalog();
+        catalogPage.navigate(url);
+        catalogPage.waitForPageLoad();
+        catalogPage.waitUntilLoaded(10000);
+    }
+
+    private boolean matches(AppState state) {
+        Pages pages = BrowserHooks.getPages();
+        HeaderComponent header = pages.header();
+        CartComponent cart = pages.cart();
+        cart.settle();
+        return header.isLogoutButtonVisible() == (state.user() != null)
+                && cart.getItemCount() == state.cart().stream().distinct().count()
+                && (state.english() ? header.showsEnglish() : header.showsJapanese());
+    }
+
+    // Catalog locators are Japanese, so the language is switched last.
+    private void build(AppState state) {
+        Pages pages = BrowserHooks.getPages();
+        if (state.user() != null && !pages.header().isLogoutButtonVisible()) {
+            if (!ShopTodo.DEMO_USER.equals(state.user())) {
+                throw new IllegalArgumentException("Only the demo user's password is known, cannot log in as " + state.user());
+            }
+            pages.header().clickLogin();
+            LoginPage loginPage = pages.login();
+            loginPage.login(ShopTodo.DEMO_USER, ShopTodo.DEMO_PASSWORD);
+            loginPage.waitUntilClosed();
+        }
+        state.cart().forEach(pages.catalog()::addToCart);
+        if (state.english()) {
+            pages.header().switchToEnglish();
+        }
+    }
+}
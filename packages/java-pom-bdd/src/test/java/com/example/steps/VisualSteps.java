@@ -0,0 +1,36 @@
+package com.example.steps;
+
+import com.example.hooks.BrowserHooks;
+import com.example.pages.CatalogPage;
+import com.example.pages.Pages;
+import com.example.support.VisualBaselines;
+import io.cucumber.java.en.Then;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VisualSteps {
+
+    @Then("商品カタログ画面のスクリーンショットが一致する")
+    public void verifyCatalogScreenshot() {
+        CatalogPage catalogPage = BrowserHooks.getPages().catalog();
+        catalogPage.settle();
+        verify("catalog-page", catalogPage.screenshot(), 100);
+    }
+
+    @Then("ログインダイアログのスクリーンショットが一致する")
+    public void verifyLoginDialogScreenshot() {
+        verify("login-dialog", BrowserHooks.getPages().login().dialogScreenshot(), 50);
+    }
+
+    @Then("ヘッダーのスクリーンショットが一致する")
+    public void verifyHeaderScreenshot() {
+        Pages pages = BrowserHooks.getPages();
+        pages.catalog().settle();
+        verify("header", pages.header().screenshot(), 50);
+    }
+
+    private void verify(String name, byte[] screenshot, int maxDiffPixels) {
+        VisualBaselines.Check check = VisualBaselines.check(name, screenshot, maxDiffPixels);
+        assertThat(check.matches()).as(check.describe()).isTrue();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// The app state a scenario starts from, declared in a feature table (ユーザー / カート / 言語).
+// Every row is optional; user is null when logged out, language null for the default (日本語).
+public record AppState(String user, List<String> cart, String language) {
+    private static final String USER = "ユーザー";
+    private static final String CART = "カート";
+    private static final String LANGUAGE = "言語";
+    private static final List<String> LANGUAGES = List.of("日本語", "英語");
+
+    public AppState {
+        cart = List.copyOf(cart);
+    }
+
+    public static AppState of(Map<String, String> rows) {
+        for (String key : rows.keySet()) {
+            if (!List.of(USER, CART, LANGUAGE).contains(key)) {
+                throw new IllegalArgumentException("Unknown app state row '" + key + "', expected " + USER + ", " + CART + " or " + LANGUAGE);
+            }
+        }
+        String language = blankToNull(rows.get(LANGUAGE));
+        if (language != null && !LANGUAGES.contains(language)) {
+            throw new IllegalArgumentException(LANGUAGE + " must be one of " + LANGUAGES + ", got " + language);
+        }
+        List<String> cart = new ArrayList<>();
+        if (blankToNull(rows.get(CART)) != null) {
+            Arrays.stream(rows.get(CART).split("[,、]")).map(String::trim).filter(item -> !item.isEmpty()).forEach(cart::add);
+        }
+        return new AppState(blankToNull(rows.get(USER)), cart, "日本語".equals(language) ? null : language);
+    }
+
+    public boolean english() {
+        return "英語".equals(language);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.support;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Optional;
+
+// Logged-in BrowserContext.storageState() per user and base URL, shared by all workers in the run
+// and persisted under target/ so later runs within the TTL can skip the UI login as well.
+public final class AuthStateCache {
+    private static final StateFileCache CACHE = new StateFileCache(
+            Paths.get(System.getProperty("auth.state.dir", "target/auth-state")),
+            Duration.ofMinutes(Long.getLong("auth.state.ttl.minutes", 30)),
+            content -> true);
+
+    private AuthStateCache() {
+    }
+
+    public static Optional<String> get(String user, String baseUrl) {
+        return CACHE.get(user + "@" + baseUrl);
+    }
+
+    public static void put(String user, String baseUrl, String storageState) {
+        CACHE.put(user + "@" + baseUrl, storageState);
+    }
+
+    // A restored state that does not pass the logged-in check is dropped and not cached again
+    // for the rest of the run, so a site that ignores it only pays for one failed restore.
+    public static void reject(String user, String baseUrl) {
+        CACHE.reject(user + "@" + baseUrl);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.support;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps one Playwright + Chromium per worker thread for the JVM's lifetime, parked between executions
+// and recycled after -Dbrowser.recycle.contexts contexts or -Dbrowser.recycle.rss.mb of memory.
+public final class BrowserPool {
+    private static final ThreadLocal<Lease> WORKER = new ThreadLocal<>();
+    private static final Queue<Worker> WORKERS = new ConcurrentLinkedQueue<>();
+    private static final Queue<Worker> IDLE = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger generation = new AtomicInteger();
+    private static final AtomicInteger launches = new AtomicInteger();
+    private static final AtomicInteger adoptions = new AtomicInteger();
+    private static final AtomicLong launchNanos = new AtomicLong();
+    private static final AtomicLong scenarioNanos = new AtomicLong();
+    private static final AtomicInteger scenarios = new AtomicInteger();
+    private static final AtomicBoolean shutdownHookInstalled = new AtomicBoolean();
+    private static final int RECYCLE_CONTEXTS = Integer.getInteger("browser.recycle.contexts", 200);
+    private static final long RECYCLE_RSS_MB = Long.getLong("browser.recycle.rss.mb", 1536);
+    private static final AtomicInteger recycles = new AtomicInteger();
+    // Playwright.create() starts the driver process; one at a time so it can be told apart.
+    private static final Object CREATE_LOCK = new Object();
+
+    // driver is the Playwright driver process (Chromium runs under it), null if it could not be told apart.
+    // cdpEndpoint is where ContextPrewarmer connects to the browser, null while prewarming is off.
+    private record Worker(Playwright playwright, Browser browser, ProcessHandle driver, String cdpEndpoint,
+                          AtomicInteger contexts) {
+    }
+
+    // A thread's worker is only valid for the execution (generation) it was taken in.
+    private record Lease(Worker worker, int generation) {
+    }
+
+    private BrowserPool() {
+    }
+
+    public static Browser browser() {
+        return current().browser();
+    }
+
+    // The CDP endpoint of this thread's browser; like browser(), counts one more context on it.
+    public static String cdpEndpoint() {
+        return current().cdpEndpoint();
+    }
+
+    private static Worker current() {
+        Lease lease = WORKER.get();
+        Worker worker = lease != null && lease.generation() == generation.get() ? lease.worker() : null;
+        if (worker == null || !worker.browser().isConnected()) {
+            if (worker != null) {
+                close(worker);
+            }
+            worker = adopt();
+            if (worker == null) {
+                worker = launch();
+            }
+            WORKER.set(new Lease(worker, generation.get()));
+        } else {
+            String reason = recycleReason(worker);
+            if (reason != null) {
+                RunReport.event("[BrowserPool] Recycling the browser of %s %s", Thread.currentThread().getName(), reason);
+                recycles.incrementAndGet();
+                close(worker);
+                worker = launch();
+                WORKER.set(new Lease(worker, generation.get()));
+            }
+        }
+        worker.contexts().incrementAndGet();
+        return worker;
+    }
+
+    // Hands every browser back for the next execution in this JVM. Call when no scenario is running;
+    // the browsers are closed by a shutdown hook when the JVM exits.
+    public static void park() {
+        generation.incrementAndGet();
+        IDLE.clear();
+        IDLE.addAll(WORKERS);
+    }
+
+    private static Worker adopt() {
+        Worker worker;
+        while ((worker = IDLE.poll()) != null) {
+            if (worker.browser().isConnected()) {
+                adoptions.incrementAndGet();
+                return worker;
+            }
+            close(worker);
+        }
+        return null;
+    }
+
+    // Null while the browser may keep serving contexts.
+    private static String recycleReason(Worker worker) {
+        if (RECYCLE_CONTEXTS > 0 && worker.contexts().get() >= RECYCLE_CONTEXTS) {
+            return "after " + worker.contexts().get() + " contexts";
+        }
+        if (RECYCLE_RSS_MB > 0 && worker.driver() != null) {
+            long rssMb = MemoryGovernor.rssMb(worker.driver());
+            if (rssMb > RECYCLE_RSS_MB) {
+                return "at " + rssMb + " MB resident (limit " + RECYCLE_RSS_MB + " MB)";
+            }
+        }
+        return null;
+    }
+
+    public static void recordScenario(long nanos) {
+        scenarioNanos.addAndGet(nanos);
+        scenarios.incrementAndGet();
+    }
+
+    public static synchronized void shutdown() {
+        if (WORKERS.isEmpty()) {
+            return;
+        }
+        Worker worker;
+        while ((worker = WORKERS.peek()) != null) {
+            close(worker);
+        }
+    }
+
+    // Empty when no browser has been launched.
+    public static String report() {
+        if (launches.get() == 0) {
+            return "";
+        }
+        long launchMs = TimeUnit.NANOSECONDS.toMillis(launchNanos.get());
+        long scenarioMs = TimeUnit.NANOSECONDS.toMillis(scenarioNanos.get());
+        double ratio = scenarioMs == 0 ? 0 : 100.0 * launchMs / scenarioMs;
+        return String.format("[BrowserPool] %d browser launch(es) took %d ms, %d reused by a later execution, "
+                        + "%d recycled; %d scenario(s) took %d ms (launch = %.1f%% of scenario time)",
+                launches.get(), launchMs, adoptions.get(), recycles.get(), scenarios.get(), scenarioMs, ratio);
+    }
+
+    private static Worker launch() {
+        if (shutdownHookInstalled.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(new Thread(BrowserPool::shutdown, "browser-pool-shutdown"));
+        }
+        long start = System.nanoTime();
+        DriverCache.prepare();
+        Playwright playwright;
+        ProcessHandle driver;
+        synchronized (CREATE_LOCK) {
+            Set<Long> before = MemoryGovernor.childPids();
+            playwright = Playwright.create();
+            driver = MemoryGovernor.newChild(before).orElse(null);
+        }
+        BrowserType.LaunchOptions options = new BrowserType.LaunchOptions().setHeadless(true);
+        int debuggingPort = ContextPrewarmer.DEPTH > 0 ? freePort() : 0;
+        if (debuggingPort > 0) {
+            options.setArgs(List.of("--remote-debugging-port=" + debuggingPort));
+        }
+        Browser browser = playwright.chromium().launch(options);
+        long elapsed = System.nanoTime() - start;
+        launchNanos.addAndGet(elapsed);
+        Timings.record(Timings.Bucket.LAUNCH, elapsed);
+        launches.incrementAndGet();
+        Worker worker = new Worker(playwright, browser, driver,
+                debuggingPort > 0 ? "http://127.0.0.1:" + debuggingPort : null, new AtomicInteger());
+        WORKERS.add(worker);
+        return worker;
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No free port for the browser's debugging endpoint", e);
+        }
+    }
+
+    private static void close(Worker worker) {
+        WORKERS.remove(worker);
+        IDLE.remove(worker);
+        try {
+            worker.playwright().close();
+        } catch (PlaywrightException e) {
+            System.err.println("[BrowserPool] Failed to close Playwright: " + e.getMessage());
+        }
+    }
+}
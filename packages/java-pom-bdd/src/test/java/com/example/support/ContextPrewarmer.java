@@ -0,0 +1,245 @@
+package com.example.support;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// With -Dprewarm.depth=<n>, a background thread per worker keeps the next n contexts ready in the
+// worker's Chromium, each through its own Playwright connection over CDP.
+public final class ContextPrewarmer {
+    public static final int DEPTH = Integer.getInteger("prewarm.depth", 0);
+    private static final boolean NAVIGATE = Boolean.getBoolean("prewarm.navigate");
+    private static final long MAX_AGE_NANOS = TimeUnit.SECONDS.toNanos(Integer.getInteger("prewarm.max.age.seconds", 60));
+    private static final ThreadLocal<Pipeline> PIPELINE = new ThreadLocal<>();
+    private static final Queue<Pipeline> PIPELINES = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger ready = new AtomicInteger();
+    private static final AtomicInteger waited = new AtomicInteger();
+    private static final AtomicInteger misses = new AtomicInteger();
+    private static final AtomicInteger evicted = new AtomicInteger();
+    private static final AtomicLong hiddenNanos = new AtomicLong();
+
+    private record Slot(Playwright playwright, Browser browser, String endpoint) {
+    }
+
+    private record Prepared(Slot slot, String key, BrowserContext context, Page page, long preparedAt,
+                            long prepareNanos) {
+    }
+
+    private static final class Pipeline {
+        final ExecutorService executor;
+        final Queue<Future<Prepared>> queue = new ArrayDeque<>();
+        String key;
+        Function<Browser, BrowserContext> factory;
+        Prepared inUse;
+        boolean arrived;
+        boolean broken;
+
+        Pipeline(String worker, String key, Function<Browser, BrowserContext> factory) {
+            this.key = key;
+            this.factory = factory;
+            this.executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "context-prewarm-" + worker);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        // Call on the worker thread; the pipeline thread owns the slot until the worker takes the result.
+        void prepare(Slot previous) {
+            String endpoint = BrowserPool.cdpEndpoint();
+            String preparedKey = key;
+            Function<Browser, BrowserContext> preparedFactory = factory;
+            queue.add(executor.submit(() -> {
+                Slot slot = previous;
+                if (slot == null || !slot.browser().isConnected() || !slot.endpoint().equals(endpoint)) {
+                    close(slot);
+                    slot = connect(endpoint);
+                }
+                long start = System.nanoTime();
+                BrowserContext context = preparedFactory.apply(slot.browser());
+                Page page = context.newPage();
+                if (NAVIGATE) {
+                    page.navigate(ShopTodo.homeUrl());
+                    page.waitForLoadState();
+                }
+                long end = System.nanoTime();
+                return new Prepared(slot, preparedKey, context, page, end, end - start);
+            }));
+        }
+    }
+
+    private ContextPrewarmer() {
+    }
+
+    // A prepared page for this worker, or empty when the caller should build its own: prewarming is
+    // off, preparing failed or the next prepared context was built for another key. key names the
+    // options factory applies; on a mismatch the pipeline switches to the new key and factory.
+    // The worker's first scenario starts the pipeline and waits for it.
+    public static Optional<Page> take(String key, Function<Browser, BrowserContext> factory) {
+        if (DEPTH <= 0) {
+            return Optional.empty();
+        }
+        Pipeline pipeline = PIPELINE.get();
+        if (pipeline == null) {
+            pipeline = new Pipeline(Thread.currentThread().getName(), key, factory);
+            PIPELINE.set(pipeline);
+            PIPELINES.add(pipeline);
+            // One slot for the running scenario, DEPTH being prepared for the next ones.
+            for (int i = 0; i <= DEPTH; i++) {
+                pipeline.prepare(null);
+            }
+        }
+        Future<Prepared> next = pipeline.broken ? null : pipeline.queue.poll();
+        if (next == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        boolean done = next.isDone();
+        long start = System.nanoTime();
+        Prepared prepared;
+        try {
+            prepared = next.get();
+        } catch (ExecutionException e) {
+            System.err.println("[ContextPrewarmer] Preparing a context failed, building contexts in the scenario: "
+                    + e.getCause());
+            pipeline.broken = true;
+            misses.incrementAndGet();
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a prepared context", e);
+        }
+        long waitNanos = System.nanoTime() - start;
+        if (!prepared.key().equals(key)) {
+            pipeline.key = key;
+            pipeline.factory = factory;
+        }
+        // Built for other options, recycled with the browser, or too old to trust (the page may
+        // have been idle on a navigated URL): replace it.
+        if (!prepared.key().equals(key) || !prepared.slot().browser().isConnected()
+                || start - prepared.preparedAt() > MAX_AGE_NANOS) {
+            evicted.incrementAndGet();
+            closeContext(prepared.context());
+            pipeline.prepare(prepared.slot());
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        (done ? ready : waited).incrementAndGet();
+        hiddenNanos.addAndGet(Math.max(0, prepared.prepareNanos() - waitNanos));
+        pipeline.inUse = prepared;
+        pipeline.arrived = NAVIGATE;
+        return Optional.of(prepared.page());
+    }
+
+    // Closes a context handed out by take() and starts preparing the next one on its slot.
+    // False when the context did not come from here.
+    public static boolean release(BrowserContext context) {
+        Pipeline pipeline = PIPELINE.get();
+        if (pipeline == null || pipeline.inUse == null || pipeline.inUse.context() != context) {
+            return false;
+        }
+        Slot slot = pipeline.inUse.slot();
+        pipeline.inUse = null;
+        pipeline.arrived = false;
+        closeContext(context);
+        if (!pipeline.broken) {
+            pipeline.prepare(slot);
+        }
+        return true;
+    }
+
+    // True once for a prepared page already navigated to url, so the first navigation can be skipped.
+    public static boolean arrived(Page page, String url) {
+        Pipeline pipeline = PIPELINE.get();
+        if (pipeline == null || !pipeline.arrived || pipeline.inUse == null || pipeline.inUse.page() != page) {
+            return false;
+        }
+        pipeline.arrived = false;
+        return url.equals(page.url());
+    }
+
+    // Call when no scenario is running: evicts the unused contexts and disconnects every slot.
+    public static void shutdown() {
+        Pipeline pipeline;
+        while ((pipeline = PIPELINES.poll()) != null) {
+            for (Future<Prepared> future : pipeline.queue) {
+                try {
+                    Prepared prepared = future.get(1, TimeUnit.MINUTES);
+                    evicted.incrementAndGet();
+                    closeContext(prepared.context());
+                    close(prepared.slot());
+                } catch (ExecutionException | TimeoutException e) {
+                    future.cancel(true);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (pipeline.inUse != null) {
+                close(pipeline.inUse.slot());
+            }
+            pipeline.executor.shutdownNow();
+        }
+    }
+
+    // Empty when prewarming is off or nothing was asked for.
+    public static String report() {
+        int hits = ready.get() + waited.get();
+        int requests = hits + misses.get();
+        if (DEPTH <= 0 || requests == 0) {
+            return "";
+        }
+        return String.format("[ContextPrewarmer] depth %d%s: %d of %d context(s) prepared in the background "
+                        + "(hit rate %.0f%%, %d still being prepared when taken), %d evicted unused; "
+                        + "%d ms of setup hidden (%.0f ms per hit)",
+                DEPTH, NAVIGATE ? " with navigation" : "", hits, requests, 100.0 * hits / requests, waited.get(),
+                evicted.get(), TimeUnit.NANOSECONDS.toMillis(hiddenNanos.get()),
+                hits == 0 ? 0 : hiddenNanos.get() / 1e6 / hits);
+    }
+
+    private static Slot connect(String endpoint) {
+        DriverCache.prepare();
+        Playwright playwright = Playwright.create();
+        try {
+            return new Slot(playwright, playwright.chromium().connectOverCDP(endpoint), endpoint);
+        } catch (PlaywrightException e) {
+            playwright.close();
+            throw e;
+        }
+    }
+
+    private static void closeContext(BrowserContext context) {
+        try {
+            context.close();
+        } catch (PlaywrightException e) {
+            System.err.println("[ContextPrewarmer] Failed to close a context: " + e.getMessage());
+        }
+    }
+
+    private static void close(Slot slot) {
+        if (slot == null) {
+            return;
+        }
+        try {
+            slot.playwright().close();
+        } catch (PlaywrightException e) {
+            System.err.println("[ContextPrewarmer] Failed to close Playwright: " + e.getMessage());
+        }
+    }
+}
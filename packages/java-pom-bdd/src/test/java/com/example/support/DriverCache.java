@@ -0,0 +1,86 @@
+package com.example.support;
+
+import com.microsoft.playwright.impl.driver.Driver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Keeps Playwright's unpacked Node.js driver under target/playwright-driver/<version>/ so later JVMs skip unpacking it.
+public final class DriverCache {
+    private static final Path ROOT = Paths.get("target/playwright-driver");
+    private static final String COMPLETE_MARKER = ".complete";
+    private static final String CLI_DIR_PROPERTY = "playwright.cli.dir";
+    private static volatile boolean prepared;
+
+    private DriverCache() {
+    }
+
+    // Call before the first Playwright.create() in the JVM.
+    public static synchronized void prepare() {
+        if (prepared) {
+            return;
+        }
+        prepared = true;
+        if (System.getProperty(CLI_DIR_PROPERTY) != null || "off".equals(System.getProperty("driver.cache"))) {
+            return;
+        }
+        String version = Driver.class.getPackage().getImplementationVersion();
+        Path dir = ROOT.resolve(version != null ? version : "unknown").toAbsolutePath();
+        if (Files.isRegularFile(dir.resolve(COMPLETE_MARKER))) {
+            System.setProperty(CLI_DIR_PROPERTY, dir.toString());
+            System.out.println("[DriverCache] Using the Playwright driver in " + dir);
+            return;
+        }
+        // Unpacks (and installs browsers) as Playwright.create() would; the copy is for the next JVM.
+        long start = System.nanoTime();
+        Driver driver = Driver.ensureDriverInstalled(Map.of(), true);
+        try {
+            store(driver.driverDir(), dir);
+            System.out.printf("[DriverCache] Driver unpacked in %.1f s, kept in %s for the next runs%n",
+                    (System.nanoTime() - start) / 1e9, dir);
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("[DriverCache] Failed to keep the driver in " + dir + ": " + e.getMessage());
+        }
+    }
+
+    // Copied next to the target and renamed, so a concurrent JVM never sees a partial directory.
+    private static void store(Path source, Path dir) throws IOException {
+        Files.createDirectories(dir.getParent());
+        Path tmp = Files.createTempDirectory(dir.getParent(), dir.getFileName() + ".tmp");
+        try (Stream<Path> files = Files.walk(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Path copy = tmp.resolve(source.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(file, copy, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+            }
+            Files.writeString(tmp.resolve(COMPLETE_MARKER), source.toString(), StandardCharsets.UTF_8);
+            if (!Files.exists(dir)) {
+                Files.move(tmp, dir, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } finally {
+            delete(tmp);
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+}
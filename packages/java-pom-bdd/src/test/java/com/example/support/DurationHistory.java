@@ -0,0 +1,109 @@
+package com.example.support;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+
+// Scenario durations from previous runs, keyed by "<feature uri>:<line>" and blended run over run.
+public final class DurationHistory {
+    private static final Path FILE = Paths.get(System.getProperty("scenario.history.file", "target/scenario-history.json"));
+    // Weight of the latest run when blending it into the stored duration.
+    private static final double LATEST_WEIGHT = 0.5;
+
+    private final Map<String, Double> millis;
+
+    private DurationHistory(Map<String, Double> millis) {
+        this.millis = millis;
+    }
+
+    public static Path file() {
+        return FILE;
+    }
+
+    public static DurationHistory load() {
+        return load(FILE);
+    }
+
+    public static DurationHistory load(Path file) {
+        Map<String, Double> millis = new TreeMap<>();
+        if (Files.isRegularFile(file)) {
+            try {
+                JsonObject scenarios = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8))
+                        .getAsJsonObject().getAsJsonObject("scenarios");
+                scenarios.entrySet().forEach(entry -> millis.put(entry.getKey(), entry.getValue().getAsDouble()));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("[DurationHistory] Ignoring unreadable " + file + ": " + e.getMessage());
+            }
+        }
+        return new DurationHistory(millis);
+    }
+
+    public boolean isEmpty() {
+        return millis.isEmpty();
+    }
+
+    public OptionalDouble scenarioMillis(String scenarioId) {
+        Double value = millis.get(scenarioId);
+        return value == null ? OptionalDouble.empty() : OptionalDouble.of(value);
+    }
+
+    // Sum of the known scenarios of one feature; empty when none of them has been run before.
+    public OptionalDouble featureMillis(String featureUri) {
+        String prefix = featureUri + ":";
+        double total = 0;
+        boolean found = false;
+        for (Map.Entry<String, Double> entry : millis.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                total += entry.getValue();
+                found = true;
+            }
+        }
+        return found ? OptionalDouble.of(total) : OptionalDouble.empty();
+    }
+
+    public double meanFeatureMillis() {
+        Map<String, Double> features = new TreeMap<>();
+        millis.forEach((id, value) -> features.merge(id.substring(0, id.lastIndexOf(':')), value, Double::sum));
+        return features.values().stream().mapToDouble(Double::doubleValue).average().orElse(0);
+    }
+
+    public void record(String scenarioId, double latestMillis) {
+        millis.merge(scenarioId, latestMillis,
+                (stored, latest) -> stored * (1 - LATEST_WEIGHT) + latest * LATEST_WEIGHT);
+    }
+
+    public void recordAll(DurationHistory latest) {
+        latest.millis.forEach(this::record);
+    }
+
+    public void save() {
+        save(FILE);
+    }
+
+    public void save(Path file) {
+        JsonObject scenarios = new JsonObject();
+        millis.forEach((id, value) -> scenarios.addProperty(id, Math.round(value * 10) / 10.0));
+        JsonObject root = new JsonObject();
+        root.add("scenarios", scenarios);
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "scenario-history", ".tmp");
+            Files.writeString(tmp, new GsonBuilder().setPrettyPrinting().create().toJson(root), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save scenario history to " + file, e);
+        }
+    }
+}
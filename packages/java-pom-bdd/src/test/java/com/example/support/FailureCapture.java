@@ -0,0 +1,136 @@
+package com.example.support;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Tracing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Playwright trace per scenario, kept only when the scenario fails (-Dcapture.mode=failure, default),
+// with a screenshot and the DOM under target/artifacts/<scenario>/.
+public final class FailureCapture {
+    public enum Mode { OFF, FAILURE, ALWAYS }
+
+    private static final Mode MODE = Mode.valueOf(System.getProperty("capture.mode", "failure").toUpperCase(Locale.ROOT));
+    private static final Path DIR = Paths.get(System.getProperty("capture.dir", "target/artifacts"));
+    private static final Set<BrowserContext> TRACING = ConcurrentHashMap.newKeySet();
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "artifact-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicInteger kept = new AtomicInteger();
+    private static final AtomicInteger discarded = new AtomicInteger();
+    private static final AtomicLong teardownNanos = new AtomicLong();
+    private static final AtomicLong writeNanos = new AtomicLong();
+    private static final AtomicLong writtenBytes = new AtomicLong();
+
+    // screenshot is null when the page was gone, dir when nothing is written (mode off).
+    public record Failure(byte[] screenshot, Path dir) {
+    }
+
+    private FailureCapture() {
+    }
+
+    public static void begin(BrowserContext context, String title) {
+        if (MODE == Mode.OFF) {
+            return;
+        }
+        if (TRACING.add(context)) {
+            context.onClose(TRACING::remove);
+            context.tracing().start(new Tracing.StartOptions()
+                    .setScreenshots(true).setSnapshots(true).setSources(false).setTitle(title));
+        } else {
+            context.tracing().startChunk(new Tracing.StartChunkOptions().setTitle(title));
+        }
+    }
+
+    // Call before the context is closed. name must be unique within the run, e.g. feature and line.
+    public static Optional<Failure> end(BrowserContext context, Page page, String name, boolean failed) {
+        long start = System.nanoTime();
+        Path dir = DIR.resolve(name);
+        boolean keepTrace = MODE == Mode.ALWAYS || (MODE == Mode.FAILURE && failed);
+        try {
+            if (context != null && TRACING.contains(context)) {
+                if (keepTrace) {
+                    context.tracing().stopChunk(new Tracing.StopChunkOptions().setPath(dir.resolve("trace.zip")));
+                    kept.incrementAndGet();
+                } else {
+                    context.tracing().stopChunk();
+                    discarded.incrementAndGet();
+                }
+            }
+            if (!failed) {
+                return Optional.empty();
+            }
+            byte[] screenshot = null;
+            if (page != null && !page.isClosed()) {
+                screenshot = page.screenshot();
+                if (MODE != Mode.OFF) {
+                    write(dir.resolve("screenshot.png"), screenshot);
+                    write(dir.resolve("dom.html"), page.content().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return Optional.of(new Failure(screenshot, MODE == Mode.OFF ? null : dir));
+        } catch (PlaywrightException e) {
+            // A broken page should not hide the scenario's own failure.
+            System.err.println("[FailureCapture] Could not capture " + name + ": " + e.getMessage());
+            return Optional.empty();
+        } finally {
+            teardownNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private static void write(Path file, byte[] bytes) {
+        WRITER.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                Files.createDirectories(file.getParent());
+                Files.write(file, bytes);
+                writtenBytes.addAndGet(bytes.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write " + file, e);
+            } finally {
+                writeNanos.addAndGet(System.nanoTime() - start);
+            }
+        });
+    }
+
+    // Waits for the writes queued so far (the writer runs them in order); call at the end of an execution.
+    public static String flush() {
+        try {
+            WRITER.submit(() -> { }).get(1, TimeUnit.MINUTES);
+        } catch (TimeoutException e) {
+            System.err.println("[FailureCapture] Gave up waiting for artifact writes under " + DIR);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Artifact writer failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (kept.get() + discarded.get() == 0) {
+            return "";
+        }
+        return String.format("[FailureCapture] mode %s: %d trace(s) kept under %s, %d discarded; "
+                        + "%d ms in teardown, %d ms (%d KB) written in background",
+                MODE.name().toLowerCase(Locale.ROOT), kept.get(), DIR, discarded.get(),
+                TimeUnit.NANOSECONDS.toMillis(teardownNanos.get()), TimeUnit.NANOSECONDS.toMillis(writeNanos.get()),
+                writtenBytes.get() / 1024);
+    }
+}
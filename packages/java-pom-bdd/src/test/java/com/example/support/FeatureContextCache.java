@@ -0,0 +1,131 @@
+package com.example.support;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Keeps one BrowserContext/Page per feature per worker for @reuse-context scenarios, reset between scenarios.
+public final class FeatureContextCache {
+    private static final ThreadLocal<Slot> SLOT = new ThreadLocal<>();
+    private static final Set<Slot> OPEN = ConcurrentHashMap.newKeySet();
+    private static final Map<URI, FeatureStats> STATS = new ConcurrentHashMap<>();
+    private static final String CLEAR_STORAGE_SCRIPT = """
+            () => {
+              localStorage.clear();
+              sessionStorage.clear();
+              return localStorage.length + sessionStorage.length;
+            }
+            """;
+
+    private record Slot(URI feature, BrowserContext context, Page page) {
+    }
+
+    private static final class FeatureStats {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicLong createNanos = new AtomicLong();
+        final AtomicInteger reused = new AtomicInteger();
+        final AtomicLong resetNanos = new AtomicLong();
+
+        // Negative when resetting cost more than creating contexts would have.
+        long savedMs() {
+            if (created.get() == 0 || reused.get() == 0) {
+                return 0;
+            }
+            long avgCreate = createNanos.get() / created.get();
+            long avgReset = resetNanos.get() / reused.get();
+            return (avgCreate - avgReset) * reused.get() / 1_000_000;
+        }
+    }
+
+    private FeatureContextCache() {
+    }
+
+    public static Page acquire(URI feature, Supplier<BrowserContext> factory) {
+        FeatureStats stats = STATS.computeIfAbsent(feature, uri -> new FeatureStats());
+        Slot slot = SLOT.get();
+        if (slot != null && slot.feature().equals(feature) && !slot.page().isClosed()) {
+            long start = System.nanoTime();
+            reset(slot);
+            stats.reused.incrementAndGet();
+            stats.resetNanos.addAndGet(System.nanoTime() - start);
+            return slot.page();
+        }
+        discard();
+        long start = System.nanoTime();
+        BrowserContext context = factory.get();
+        Page page = context.newPage();
+        stats.created.incrementAndGet();
+        stats.createNanos.addAndGet(System.nanoTime() - start);
+        Slot created = new Slot(feature, context, page);
+        OPEN.add(created);
+        SLOT.set(created);
+        return page;
+    }
+
+    public static boolean owns(BrowserContext context) {
+        Slot slot = SLOT.get();
+        return slot != null && slot.context() == context;
+    }
+
+    public static void discard() {
+        Slot slot = SLOT.get();
+        if (slot != null) {
+            SLOT.remove();
+            if (OPEN.remove(slot)) {
+                slot.context().close();
+            }
+        }
+    }
+
+    // Called from @AfterAll once no scenario is running, before the browsers are parked.
+    public static void closeAll() {
+        for (Slot slot : OPEN) {
+            OPEN.remove(slot);
+            try {
+                slot.context().close();
+            } catch (PlaywrightException e) {
+                // The browser is already gone.
+            }
+        }
+    }
+
+    public static String report() {
+        if (STATS.isEmpty()) {
+            return "";
+        }
+        StringBuilder report = new StringBuilder("[FeatureContextCache] time saved by @reuse-context:");
+        new TreeMap<>(STATS).forEach((feature, stats) -> {
+            long savedMs = stats.savedMs();
+            report.append(String.format("%n  %s: %d context(s) created, %d reused, %s", feature,
+                    stats.created.get(), stats.reused.get(), savedMs >= 0 ? "saved " + savedMs + " ms"
+                            : "lost " + -savedMs + " ms (resetting took longer than creating a context)"));
+        });
+        return report.toString();
+    }
+
+    // Navigating to about:blank drops the app's in-memory state as well; the feature Background
+    // navigates back to the app afterwards, so a full reload of the app would only be paid twice.
+    private static void reset(Slot slot) {
+        slot.context().clearCookies();
+        int leftInStorage = 0;
+        if (slot.page().url().startsWith("http")) {
+            leftInStorage = ((Number) slot.page().evaluate(CLEAR_STORAGE_SCRIPT)).intValue();
+        }
+        slot.page().navigate("about:blank");
+        int leftCookies = slot.context().cookies().size();
+        if (leftInStorage > 0 || leftCookies > 0) {
+            discard();
+            throw new IllegalStateException("State leaked from the previous scenario of " + slot.feature()
+                    + ": " + leftInStorage + " storage entries, " + leftCookies + " cookies after reset");
+        }
+    }
+}
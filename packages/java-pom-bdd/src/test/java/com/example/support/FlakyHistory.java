@@ -0,0 +1,118 @@
+package com.example.support;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// Pass/fail counts per scenario across runs; scenarios flaky in more than -Dflaky.threshold of runs are reported.
+public final class FlakyHistory {
+    private static final Path FILE = Paths.get(System.getProperty("flaky.history.file", "target/flaky-history.json"));
+    private static final double THRESHOLD = Double.parseDouble(System.getProperty("flaky.threshold", "0.1"));
+    private static final int MIN_RUNS = 3;
+
+    // As stored before this run, so saving after every Surefire rerun does not count the run twice.
+    private static final Map<String, Stats> BEFORE_RUN = read();
+
+    private final Map<String, Stats> scenarios;
+
+    public record Stats(int runs, int failed, int flaky) {
+        public double flakeRate() {
+            return runs == 0 ? 0 : (double) flaky / runs;
+        }
+
+        Stats plus(List<Boolean> attempts) {
+            boolean failedFirst = !attempts.get(0);
+            boolean passedLater = failedFirst && attempts.get(attempts.size() - 1);
+            return new Stats(runs + 1, failed + (failedFirst && !passedLater ? 1 : 0), flaky + (passedLater ? 1 : 0));
+        }
+    }
+
+    private FlakyHistory(Map<String, Stats> scenarios) {
+        this.scenarios = scenarios;
+    }
+
+    // The stored history plus this run's attempts so far.
+    public static FlakyHistory withRun(Map<String, List<Boolean>> attemptsByScenario) {
+        FlakyHistory history = new FlakyHistory(new TreeMap<>(BEFORE_RUN));
+        attemptsByScenario.forEach(history::record);
+        return history;
+    }
+
+    private static Map<String, Stats> read() {
+        Map<String, Stats> scenarios = new TreeMap<>();
+        if (Files.isRegularFile(FILE)) {
+            try {
+                JsonObject root = JsonParser.parseString(Files.readString(FILE, StandardCharsets.UTF_8)).getAsJsonObject();
+                for (Map.Entry<String, JsonElement> entry : root.getAsJsonObject("scenarios").entrySet()) {
+                    JsonObject stats = entry.getValue().getAsJsonObject();
+                    scenarios.put(entry.getKey(), new Stats(stats.get("runs").getAsInt(),
+                            stats.get("failed").getAsInt(), stats.get("flaky").getAsInt()));
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("[FlakyHistory] Ignoring unreadable " + FILE + ": " + e.getMessage());
+            }
+        }
+        return scenarios;
+    }
+
+    // attempts: pass/fail of each attempt of the scenario in this run.
+    private void record(String scenarioId, List<Boolean> attempts) {
+        if (!attempts.isEmpty()) {
+            scenarios.put(scenarioId, scenarios.getOrDefault(scenarioId, new Stats(0, 0, 0)).plus(attempts));
+        }
+    }
+
+    public Map<String, Stats> flagged() {
+        return scenarios.entrySet().stream()
+                .filter(entry -> entry.getValue().runs() >= MIN_RUNS && entry.getValue().flakeRate() > THRESHOLD)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, TreeMap::new));
+    }
+
+    public String report() {
+        Map<String, Stats> flagged = flagged();
+        if (flagged.isEmpty()) {
+            return "[FlakyHistory] No scenario above the flake threshold of " + Math.round(THRESHOLD * 100) + "%";
+        }
+        return "[FlakyHistory] Flaky scenarios (above " + Math.round(THRESHOLD * 100) + "% of runs):"
+                + flagged.entrySet().stream()
+                .map(entry -> String.format("%n  %5.1f%%  %2d flaky / %2d failed / %3d runs  %s",
+                        100 * entry.getValue().flakeRate(), entry.getValue().flaky(), entry.getValue().failed(),
+                        entry.getValue().runs(), entry.getKey()))
+                .collect(Collectors.joining());
+    }
+
+    public void save() {
+        JsonObject root = new JsonObject();
+        JsonObject json = new JsonObject();
+        scenarios.forEach((id, stats) -> {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("runs", stats.runs());
+            entry.addProperty("failed", stats.failed());
+            entry.addProperty("flaky", stats.flaky());
+            json.add(id, entry);
+        });
+        root.add("scenarios", json);
+        try {
+            Path dir = FILE.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "flaky-history", ".tmp");
+            Files.writeString(tmp, new GsonBuilder().setPrettyPrinting().create().toJson(root), StandardCharsets.UTF_8);
+            Files.move(tmp, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save flaky history to " + FILE, e);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.support;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.stream.IntStream;
+
+// Compares two screenshots tile by tile, skipping tiles whose hashes match, with pixelmatch's YIQ distance.
+public final class ImageDiff {
+    public static final int TILE = 32;
+    // Largest possible YIQ distance between two colours.
+    private static final double MAX_DELTA = 35215;
+
+    private ImageDiff() {
+    }
+
+    public record Image(int width, int height, int[] pixels, long[] tileHashes) {
+        public static Image decode(byte[] png) {
+            try {
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+                if (image == null) {
+                    throw new IllegalArgumentException("Not a readable image (" + png.length + " bytes)");
+                }
+                return of(image);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to decode screenshot", e);
+            }
+        }
+
+        public static Image of(BufferedImage image) {
+            int width = image.getWidth();
+            int height = image.getHeight();
+            int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+            return new Image(width, height, pixels, ImageDiff.tileHashes(width, height, pixels));
+        }
+
+        int columns() {
+            return (width + TILE - 1) / TILE;
+        }
+
+        int rows() {
+            return (height + TILE - 1) / TILE;
+        }
+    }
+
+    // Bounds are inclusive pixel coordinates of the differing pixels, -1 when there are none.
+    public record Result(int width, int height, boolean sizeMismatch, int diffPixels, int changedTiles, int tiles,
+                         int minX, int minY, int maxX, int maxY, long nanos) {
+        public double millis() {
+            return nanos / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            if (sizeMismatch) {
+                return String.format("size differs (%dx%d expected)", width, height);
+            }
+            return String.format("%d pixel(s) differ in %d of %d tile(s)%s, compared in %.2f ms", diffPixels,
+                    changedTiles, tiles, diffPixels == 0 ? "" : String.format(" within (%d,%d)-(%d,%d)", minX, minY, maxX, maxY),
+                    millis());
+        }
+    }
+
+    // threshold is pixelmatch's: 0 = exact, 1 = anything matches; 0.1 is toHaveScreenshot's default.
+    public static Result compare(Image expected, Image actual, double threshold) {
+        long start = System.nanoTime();
+        int width = expected.width();
+        int height = expected.height();
+        int tiles = expected.columns() * expected.rows();
+        if (actual.width() != width || actual.height() != height) {
+            return new Result(width, height, true, Math.max(width * height, actual.width() * actual.height()),
+                    tiles, tiles, 0, 0, Math.max(width, actual.width()) - 1, Math.max(height, actual.height()) - 1,
+                    System.nanoTime() - start);
+        }
+        double maxDelta = MAX_DELTA * threshold * threshold;
+        int rows = expected.rows();
+        int columns = expected.columns();
+        // Per tile row: differing pixels, changed tiles, and bounds; reduced after the parallel pass.
+        int[] diff = new int[rows];
+        int[] changed = new int[rows];
+        int[] minX = new int[rows];
+        int[] maxX = new int[rows];
+        int[] minY = new int[rows];
+        int[] maxY = new int[rows];
+        IntStream.range(0, rows).parallel().forEach(row -> {
+            int rowDiff = 0;
+            int rowChanged = 0;
+            int x0 = Integer.MAX_VALUE;
+            int x1 = -1;
+            int y0 = Integer.MAX_VALUE;
+            int y1 = -1;
+            int top = row * TILE;
+            int bottom = Math.min(top + TILE, height);
+            for (int column = 0; column < columns; column++) {
+                int tile = row * columns + column;
+                if (expected.tileHashes()[tile] == actual.tileHashes()[tile]) {
+                    continue;
+                }
+                int left = column * TILE;
+                int right = Math.min(left + TILE, width);
+                int tileDiff = 0;
+                for (int y = top; y < bottom; y++) {
+                    int offset = y * width;
+                    for (int x = left; x < right; x++) {
+                        int a = expected.pixels()[offset + x];
+                        int b = actual.pixels()[offset + x];
+                        if (a != b && delta(a, b) > maxDelta) {
+                            tileDiff++;
+                            x0 = Math.min(x0, x);
+                            x1 = Math.max(x1, x);
+                            y0 = Math.min(y0, y);
+                            y1 = Math.max(y1, y);
+                        }
+                    }
+                }
+                if (tileDiff > 0) {
+                    rowDiff += tileDiff;
+                    rowChanged++;
+                }
+            }
+            diff[row] = rowDiff;
+            changed[row] = rowChanged;
+            minX[row] = x0;
+            maxX[row] = x1;
+            minY[row] = y0;
+            maxY[row] = y1;
+        });
+        int diffPixels = 0;
+        int changedTiles = 0;
+        int x0 = Integer.MAX_VALUE;
+        int x1 = -1;
+        int y0 = Integer.MAX_VALUE;
+        int y1 = -1;
+        for (int row = 0; row < rows; row++) {
+            diffPixels += diff[row];
+            changedTiles += changed[row];
+            if (diff[row] > 0) {
+                x0 = Math.min(x0, minX[row]);
+                x1 = Math.max(x1, maxX[row]);
+                y0 = Math.min(y0, minY[row]);
+                y1 = Math.max(y1, maxY[row]);
+            }
+        }
+        return new Result(width, height, false, diffPixels, changedTiles, tiles,
+                diffPixels == 0 ? -1 : x0, diffPixels == 0 ? -1 : y0, x1, y1, System.nanoTime() - start);
+    }
+
+    // The expected image faded, with the differing pixels in red; only built for a failed comparison.
+    public static BufferedImage diffImage(Image expected, Image actual, double threshold) {
+        int width = Math.max(expected.width(), actual.width());
+        int height = Math.max(expected.height(), actual.height());
+        double maxDelta = MAX_DELTA * threshold * threshold;
+        int[] out = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean inExpected = x < expected.width() && y < expected.height();
+                boolean inActual = x < actual.width() && y < actual.height();
+                int a = inExpected ? expected.pixels()[y * expected.width() + x] : 0;
+                int b = inActual ? actual.pixels()[y * actual.width() + x] : 0;
+                if (!inExpected || !inActual || (a != b && delta(a, b) > maxDelta)) {
+                    out[y * width + x] = 0xFFFF0000;
+                } else {
+                    int gray = 255 - (int) ((255 - luma(a)) * 0.1);
+                    out[y * width + x] = 0xFF000000 | gray << 16 | gray << 8 | gray;
+                }
+            }
+        }
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, out, 0, width);
+        return image;
+    }
+
+    static long[] tileHashes(int width, int height, int[] pixels) {
+        int columns = (width + TILE - 1) / TILE;
+        int rows = (height + TILE - 1) / TILE;
+        long[] hashes = new long[columns * rows];
+        IntStream.range(0, rows).parallel().forEach(row -> {
+            int top = row * TILE;
+            int bottom = Math.min(top + TILE, height);
+            for (int column = 0; column < columns; column++) {
+                int left = column * TILE;
+                int right = Math.min(left + TILE, width);
+                long hash = 0xcbf29ce484222325L;
+                for (int y = top; y < bottom; y++) {
+                    int offset = y * width;
+                    for (int x = left; x < right; x++) {
+                        hash = (hash ^ pixels[offset + x]) * 0x100000001b3L;
+                    }
+                }
+                hashes[row * columns + column] = hash;
+            }
+        });
+        return hashes;
+    }
+
+    // Squared YIQ distance of the two colours blended onto white.
+    private static double delta(int a, int b) {
+        double alphaA = (a >>> 24) / 255.0;
+        double alphaB = (b >>> 24) / 255.0;
+        double r1 = blend((a >> 16) & 0xFF, alphaA);
+        double g1 = blend((a >> 8) & 0xFF, alphaA);
+        double b1 = blend(a & 0xFF, alphaA);
+        double r2 = blend((b >> 16) & 0xFF, alphaB);
+        double g2 = blend((b >> 8) & 0xFF, alphaB);
+        double b2 = blend(b & 0xFF, alphaB);
+        double y = yiqY(r1, g1, b1) - yiqY(r2, g2, b2);
+        double i = yiqI(r1, g1, b1) - yiqI(r2, g2, b2);
+        double q = yiqQ(r1, g1, b1) - yiqQ(r2, g2, b2);
+        return 0.5053 * y * y + 0.299 * i * i + 0.1957 * q * q;
+    }
+
+    private static double blend(int channel, double alpha) {
+        return 255 + (channel - 255) * alpha;
+    }
+
+    private static double yiqY(double r, double g, double b) {
+        return r * 0.29889531 + g * 0.58662247 + b * 0.11448223;
+    }
+
+    private static double yiqI(double r, double g, double b) {
+        return r * 0.59597799 - g * 0.27417610 - b * 0.32180189;
+    }
+
+    private static double yiqQ(double r, double g, double b) {
+        return r * 0.21147017 - g * 0.52261711 + b * 0.31114694;
+    }
+
+    private static int luma(int argb) {
+        return (int) yiqY(blend((argb >> 16) & 0xFF, (argb >>> 24) / 255.0),
+                blend((argb >> 8) & 0xFF, (argb >>> 24) / 255.0), blend(argb & 0xFF, (argb >>> 24) / 255.0));
+    }
+}
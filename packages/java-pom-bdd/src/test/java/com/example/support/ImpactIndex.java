@@ -0,0 +1,84 @@
+package com.example.support;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Step definitions each scenario ran in previous runs, keyed like DurationHistory ("<feature uri>:<line>").
+public final class ImpactIndex {
+    public static final Path FILE = Paths.get("target/impact-index.json");
+
+    private final Map<String, Set<String>> glueByScenario;
+
+    private ImpactIndex(Map<String, Set<String>> glueByScenario) {
+        this.glueByScenario = glueByScenario;
+    }
+
+    public static ImpactIndex load(Path file) {
+        Map<String, Set<String>> glueByScenario = new TreeMap<>();
+        if (Files.isRegularFile(file)) {
+            try {
+                JsonObject scenarios = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8))
+                        .getAsJsonObject().getAsJsonObject("scenarios");
+                for (Map.Entry<String, JsonElement> entry : scenarios.entrySet()) {
+                    Set<String> glue = new TreeSet<>();
+                    entry.getValue().getAsJsonArray().forEach(method -> glue.add(method.getAsString()));
+                    glueByScenario.put(entry.getKey(), glue);
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("[ImpactIndex] Ignoring unreadable " + file + ": " + e.getMessage());
+            }
+        }
+        return new ImpactIndex(glueByScenario);
+    }
+
+    public boolean isEmpty() {
+        return glueByScenario.isEmpty();
+    }
+
+    public Map<String, Set<String>> scenarios() {
+        return glueByScenario;
+    }
+
+    public void put(String scenarioId, Set<String> glue) {
+        glueByScenario.put(scenarioId, new TreeSet<>(glue));
+    }
+
+    public void putAll(ImpactIndex other) {
+        other.glueByScenario.forEach(this::put);
+    }
+
+    public void save(Path file) {
+        JsonObject scenarios = new JsonObject();
+        glueByScenario.forEach((id, glue) -> {
+            JsonArray methods = new JsonArray();
+            glue.forEach(methods::add);
+            scenarios.add(id, methods);
+        });
+        JsonObject root = new JsonObject();
+        root.add("scenarios", scenarios);
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "impact-index", ".tmp");
+            Files.writeString(tmp, new GsonBuilder().setPrettyPrinting().create().toJson(root), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to save impact index to " + file, e);
+        }
+    }
+}
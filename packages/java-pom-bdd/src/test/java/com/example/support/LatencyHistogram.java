@@ -0,0 +1,113 @@
+package com.example.support;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Log-linear latency histogram in the style of HdrHistogram (< 1.6% error); record() never allocates.
+public final class LatencyHistogram {
+    static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF = SUB_BUCKETS / 2;
+    // Enough powers of two to cover about 12 days in microseconds.
+    private static final int MAX_SHIFT = 34;
+    private static final int LENGTH = SUB_BUCKETS + MAX_SHIFT * HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LENGTH);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sumMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        record(TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos)));
+    }
+
+    public void record(long micros) {
+        counts.incrementAndGet(indexOf(micros));
+        total.incrementAndGet();
+        sumMicros.addAndGet(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long count() {
+        return total.get();
+    }
+
+    public double meanMillis() {
+        long count = total.get();
+        return count == 0 ? 0 : sumMicros.get() / 1000.0 / count;
+    }
+
+    public double maxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    // Upper bound of the bucket holding the given percentile, capped by the recorded maximum.
+    public double percentileMillis(double percentile) {
+        long count = total.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueAt(i), maxMicros.get()) / 1000.0;
+            }
+        }
+        return maxMillis();
+    }
+
+    // Non-empty buckets only, so reports stay small and can be merged bucket by bucket.
+    public Map<Integer, Long> buckets() {
+        Map<Integer, Long> buckets = new TreeMap<>();
+        for (int i = 0; i < LENGTH; i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                buckets.put(i, count);
+            }
+        }
+        return buckets;
+    }
+
+    // Adds counts read back from a report (see buckets()), e.g. to combine the reports of several shards.
+    public void merge(Map<Integer, Long> buckets, long otherSumMicros, long otherMaxMicros) {
+        buckets.forEach((bucket, count) -> {
+            counts.addAndGet(bucket, count);
+            total.addAndGet(count);
+        });
+        sumMicros.addAndGet(otherSumMicros);
+        maxMicros.accumulateAndGet(otherMaxMicros, Math::max);
+    }
+
+    public long sumMicros() {
+        return sumMicros.get();
+    }
+
+    public long maxMicros() {
+        return maxMicros.get();
+    }
+
+    static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) Math.max(0, micros);
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - (SUB_BUCKET_BITS - 1);
+        if (shift > MAX_SHIFT) {
+            return LENGTH - 1;
+        }
+        return SUB_BUCKETS + (shift - 1) * HALF + (int) (micros >>> shift) - HALF;
+    }
+
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF + 1;
+        long sub = (index - SUB_BUCKETS) % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.support;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Serves the same-origin entries of a HAR snapshot over HTTP on loopback. Attached bodies are
+// streamed from their file channel instead of being loaded into the heap.
+public final class LocalSiteServer {
+    private static final Map<String, LocalSiteServer> SERVERS = new ConcurrentHashMap<>();
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "content-length", "content-encoding", "transfer-encoding", "connection", "keep-alive");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Response> responses;
+
+    private record Response(int status, Map<String, String> headers, Path file, byte[] body) {
+        long length() throws IOException {
+            return file != null ? Files.size(file) : body.length;
+        }
+    }
+
+    private LocalSiteServer(SiteSnapshot snapshot) throws IOException {
+        this.responses = load(snapshot);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                Integer.getInteger("site.local.port", 0)), 0);
+        this.executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+            Thread thread = new Thread(r, "local-site-" + snapshot.name());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "local-site-shutdown"));
+    }
+
+    public static LocalSiteServer forSnapshot(SiteSnapshot snapshot) {
+        return SERVERS.computeIfAbsent(snapshot.name(), name -> {
+            try {
+                return new LocalSiteServer(snapshot);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start local server for " + name, e);
+            }
+        });
+    }
+
+    public String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            URI uri = exchange.getRequestURI();
+            Response response = responses.get(exchange.getRequestMethod() + " " + uri.getRawPath()
+                    + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery()));
+            if (response == null) {
+                response = responses.get(exchange.getRequestMethod() + " " + uri.getRawPath());
+            }
+            if (response == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            response.headers().forEach(exchange.getResponseHeaders()::set);
+            long length = response.length();
+            exchange.sendResponseHeaders(response.status(), length == 0 ? -1 : length);
+            if (length == 0) {
+                return;
+            }
+            OutputStream out = exchange.getResponseBody();
+            if (response.file() != null) {
+                try (FileChannel channel = FileChannel.open(response.file(), StandardOpenOption.READ)) {
+                    WritableByteChannel target = Channels.newChannel(out);
+                    long position = 0;
+                    while (position < length) {
+                        position += channel.transferTo(position, length - position, target);
+                    }
+                }
+            } else {
+                out.write(response.body());
+            }
+        }
+    }
+
+    private static Map<String, Response> load(SiteSnapshot snapshot) throws IOException {
+        Path har = snapshot.requireHar();
+        JsonArray entries;
+        try (Reader reader = Files.newBufferedReader(har, StandardCharsets.UTF_8)) {
+            entries = JsonParser.parseReader(reader).getAsJsonObject()
+                    .getAsJsonObject("log").getAsJsonArray("entries");
+        }
+        Map<String, Response> responses = new HashMap<>();
+        for (JsonElement element : entries) {
+            JsonObject entry = element.getAsJsonObject();
+            JsonObject request = entry.getAsJsonObject("request");
+            String url = request.get("url").getAsString();
+            if (!url.startsWith(snapshot.origin())) {
+                continue;
+            }
+            URI uri = URI.create(url);
+            String key = request.get("method").getAsString() + " " + uri.getRawPath()
+                    + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+            responses.put(key, toResponse(har.getParent(), entry.getAsJsonObject("response")));
+        }
+        return responses;
+    }
+
+    private static Response toResponse(Path dir, JsonObject response) {
+        Map<String, String> headers = new HashMap<>();
+        for (JsonElement header : response.getAsJsonArray("headers")) {
+            String name = header.getAsJsonObject().get("name").getAsString();
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT)) && !name.startsWith(":")) {
+                headers.put(name, header.getAsJsonObject().get("value").getAsString());
+            }
+        }
+        JsonObject content = response.getAsJsonObject("content");
+        if (content.has("mimeType")) {
+            headers.put("Content-Type", content.get("mimeType").getAsString());
+        }
+        int status = response.get("status").getAsInt();
+        if (content.has("_file")) {
+            return new Response(status, headers, dir.resolve(content.get("_file").getAsString()), null);
+        }
+        byte[] body = new byte[0];
+        if (content.has("text")) {
+            String text = content.get("text").getAsString();
+            boolean base64 = content.has("encoding") && "base64".equals(content.get("encoding").getAsString());
+            body = base64 ? Base64.getDecoder().decode(text) : text.getBytes(StandardCharsets.UTF_8);
+        }
+        return new Response(status, headers, null, body);
+    }
+}
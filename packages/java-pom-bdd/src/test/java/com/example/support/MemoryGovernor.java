@@ -0,0 +1,179 @@
+package com.example.support;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Admits scenarios only while this JVM and the processes it started stay under -Dmemory.budget.mb.
+// At least one scenario always runs, and a waiting one runs anyway after -Dmemory.admission.timeout.seconds.
+public final class MemoryGovernor {
+    public static final long BUDGET_MB = Long.getLong("memory.budget.mb", defaultBudgetMb());
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(Integer.getInteger("memory.admission.timeout.seconds", 60));
+    private static final long SAMPLE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final long MB = 1024 * 1024;
+    private static final Path PROC = Paths.get("/proc");
+    private static final Object ADMISSION = new Object();
+    private static final ThreadLocal<Boolean> ADMITTED = ThreadLocal.withInitial(() -> false);
+    private static final AtomicInteger running = new AtomicInteger();
+    private static final AtomicInteger admitted = new AtomicInteger();
+    private static final AtomicInteger held = new AtomicInteger();
+    private static final AtomicInteger forced = new AtomicInteger();
+    private static final AtomicLong heldNanos = new AtomicLong();
+    private static final AtomicLong peakMb = new AtomicLong();
+    private static volatile Sample lastSample;
+
+    // Resident memory in MB of the processes this JVM started, and of the JVM itself.
+    public record Sample(long childrenMb, long jvmMb, long takenAt) {
+        public long totalMb() {
+            return childrenMb + jvmMb;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d MB (browsers %d MB, JVM %d MB)", totalMb(), childrenMb, jvmMb);
+        }
+    }
+
+    private MemoryGovernor() {
+    }
+
+    public static boolean enabled() {
+        return BUDGET_MB > 0;
+    }
+
+    public static void admit(String scenario) {
+        if (!enabled() || ADMITTED.get()) {
+            return;
+        }
+        long start = System.nanoTime();
+        boolean logged = false;
+        synchronized (ADMISSION) {
+            while (true) {
+                Sample sample = sample();
+                long waitedNanos = System.nanoTime() - start;
+                boolean underBudget = sample.totalMb() < BUDGET_MB;
+                if (underBudget || running.get() == 0 || waitedNanos > TIMEOUT_NANOS) {
+                    if (!underBudget && running.get() > 0) {
+                        forced.incrementAndGet();
+                        RunReport.event("[MemoryGovernor] Admitting %s after %d s over budget: %s of %d MB",
+                                scenario, TimeUnit.NANOSECONDS.toSeconds(waitedNanos), sample, BUDGET_MB);
+                    } else if (logged) {
+                        RunReport.event("[MemoryGovernor] Admitting %s after %d ms: %s of %d MB, %d running",
+                                scenario, TimeUnit.NANOSECONDS.toMillis(waitedNanos), sample, BUDGET_MB, running.get());
+                    }
+                    if (logged) {
+                        heldNanos.addAndGet(waitedNanos);
+                    }
+                    running.incrementAndGet();
+                    admitted.incrementAndGet();
+                    ADMITTED.set(true);
+                    return;
+                }
+                if (!logged) {
+                    held.incrementAndGet();
+                    RunReport.event("[MemoryGovernor] Holding %s: %s in use of %d MB, %d running",
+                            scenario, sample, BUDGET_MB, running.get());
+                    logged = true;
+                }
+                try {
+                    ADMISSION.wait(TimeUnit.NANOSECONDS.toMillis(SAMPLE_INTERVAL_NANOS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for memory to run " + scenario, e);
+                }
+            }
+        }
+    }
+
+    // Call when the scenario admitted on this thread has finished (also after a failed @Before).
+    public static void release() {
+        if (!ADMITTED.get()) {
+            return;
+        }
+        ADMITTED.remove();
+        running.decrementAndGet();
+        synchronized (ADMISSION) {
+            ADMISSION.notifyAll();
+        }
+    }
+
+    // Reused for SAMPLE_INTERVAL so admission polling does not walk /proc on every check.
+    public static Sample sample() {
+        Sample sample = lastSample;
+        if (sample == null || System.nanoTime() - sample.takenAt() > SAMPLE_INTERVAL_NANOS) {
+            ProcessHandle self = ProcessHandle.current();
+            long children;
+            try (Stream<ProcessHandle> descendants = self.descendants()) {
+                children = descendants.mapToLong(MemoryGovernor::rssBytes).sum() / MB;
+            }
+            long jvm = rssBytes(self);
+            if (jvm == 0) {
+                jvm = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+            }
+            sample = new Sample(children, jvm / MB, System.nanoTime());
+            lastSample = sample;
+            peakMb.accumulateAndGet(sample.totalMb(), Math::max);
+        }
+        return sample;
+    }
+
+    // Resident memory of a process and everything it started, in MB (0 without /proc).
+    public static long rssMb(ProcessHandle root) {
+        try (Stream<ProcessHandle> descendants = root.descendants()) {
+            return (rssBytes(root) + descendants.mapToLong(MemoryGovernor::rssBytes).sum()) / MB;
+        }
+    }
+
+    public static Set<Long> childPids() {
+        try (Stream<ProcessHandle> children = ProcessHandle.current().children()) {
+            return children.map(ProcessHandle::pid).collect(Collectors.toSet());
+        }
+    }
+
+    // The one child process started since childPids() returned before, if it is unambiguous.
+    public static Optional<ProcessHandle> newChild(Set<Long> before) {
+        try (Stream<ProcessHandle> children = ProcessHandle.current().children()) {
+            Set<ProcessHandle> started = children.filter(child -> !before.contains(child.pid())).collect(Collectors.toSet());
+            return started.size() == 1 ? started.stream().findFirst() : Optional.empty();
+        }
+    }
+
+    // Empty when admission is disabled or nothing was admitted.
+    public static String report() {
+        if (!enabled() || admitted.get() == 0) {
+            return "";
+        }
+        return String.format("[MemoryGovernor] budget %d MB, peak %d MB: %d scenario(s) admitted, %d held "
+                        + "for %d ms in total, %d admitted over budget after the timeout",
+                BUDGET_MB, peakMb.get(), admitted.get(), held.get(),
+                TimeUnit.NANOSECONDS.toMillis(heldNanos.get()), forced.get());
+    }
+
+    private static long rssBytes(ProcessHandle process) {
+        Path status = PROC.resolve(Long.toString(process.pid())).resolve("status");
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")) * 1024)
+                    .findFirst().orElse(0);
+        } catch (IOException | RuntimeException e) {
+            // Not Linux, or the process exited while being read.
+            return 0;
+        }
+    }
+
+    private static long defaultBudgetMb() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getTotalMemorySize() / MB * 8 / 10;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Upper limits for WebVitals metrics, from tags such as @budget-lcp=1500 or @budget-cls=0.1 (on the
+// feature or the scenario; the scenario's wins) and from the 性能予算 steps. Times are in ms.
+public final class PerformanceBudget {
+    private static final String TAG_PREFIX = "@budget-";
+
+    private final Map<WebVitals.Metric, Double> limits = new EnumMap<>(WebVitals.Metric.class);
+
+    // Feature tags come before scenario tags in getSourceTagNames(), so later tags override earlier ones.
+    public static PerformanceBudget fromTags(Collection<String> tags) {
+        PerformanceBudget budget = new PerformanceBudget();
+        for (String tag : tags) {
+            if (!tag.startsWith(TAG_PREFIX)) {
+                continue;
+            }
+            int equals = tag.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Budget tag needs a limit, e.g. @budget-lcp=1500: " + tag);
+            }
+            budget.set(WebVitals.Metric.of(tag.substring(TAG_PREFIX.length(), equals)), tag.substring(equals + 1));
+        }
+        return budget;
+    }
+
+    public void set(WebVitals.Metric metric, String limit) {
+        limits.put(metric, Double.parseDouble(limit.trim()));
+    }
+
+    public void setAll(Map<String, String> rows) {
+        rows.forEach((metric, limit) -> set(WebVitals.Metric.of(metric), limit));
+    }
+
+    public boolean isEmpty() {
+        return limits.isEmpty();
+    }
+
+    // One line per metric over its limit in one of the documents; metrics a browser does not report are skipped.
+    public List<String> violations(Collection<WebVitals.Sample> samples) {
+        List<String> violations = new ArrayList<>();
+        for (WebVitals.Sample sample : samples) {
+            limits.forEach((metric, limit) -> {
+                double value = metric.of(sample);
+                if (!Double.isNaN(value) && value > limit) {
+                    violations.add(String.format("%s %s over the budget of %s on %s", metric.key(),
+                            metric.format(value), metric.format(limit), sample.url()));
+                }
+            });
+        }
+        return violations;
+    }
+}
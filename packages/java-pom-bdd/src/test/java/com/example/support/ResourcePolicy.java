@@ -0,0 +1,166 @@
+package com.example.support;
+
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+// Blocks resources the assertions never look at and serves static assets from an LRU cache shared by every context.
+public final class ResourcePolicy {
+    private static final Set<String> CACHEABLE_TYPES = Set.of("stylesheet", "script", "image", "font");
+    private static final Set<String> UNCACHEABLE_HEADERS = Set.of("content-length", "content-encoding", "transfer-encoding");
+    private static final ResourcePolicy DEFAULT = new ResourcePolicy(
+            csv(System.getProperty("resources.block.types", "media")),
+            csv(System.getProperty("resources.block.urls",
+                    "**/*google-analytics.com/**,**/*googletagmanager.com/**,**/*doubleclick.net/**")),
+            Long.getLong("resources.cache.max.mb", 64) * 1024 * 1024);
+    private static final Map<BrowserContext, Stats> STATS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Set<String> blockedTypes;
+    private final List<Pattern> blockedUrls;
+    private final ResponseCache cache;
+
+    public ResourcePolicy(List<String> blockedTypes, List<String> blockedUrlGlobs, long cacheBytes) {
+        this.blockedTypes = Set.copyOf(blockedTypes);
+        this.blockedUrls = blockedUrlGlobs.stream().map(ResourcePolicy::globToPattern).toList();
+        this.cache = new ResponseCache(cacheBytes);
+    }
+
+    public static ResourcePolicy defaults() {
+        return DEFAULT;
+    }
+
+    public static Stats stats(BrowserContext context) {
+        return STATS.computeIfAbsent(context, c -> new Stats());
+    }
+
+    // Register after SiteSnapshot.attach: later routes run first, and fallback() hands the
+    // request on to the HAR route when the site is not live.
+    public void apply(BrowserContext context) {
+        Stats stats = stats(context);
+        boolean live = SiteMode.current() == SiteMode.LIVE;
+        context.route("**/*", route -> handle(route, stats, live));
+    }
+
+    private void handle(Route route, Stats stats, boolean live) {
+        Request request = route.request();
+        if (isBlocked(request)) {
+            stats.blocked.incrementAndGet();
+            route.abort("blockedbyclient");
+            return;
+        }
+        if (!live || !"GET".equals(request.method()) || !CACHEABLE_TYPES.contains(request.resourceType())) {
+            route.fallback();
+            return;
+        }
+        CachedResponse cached = cache.get(request.url());
+        if (cached != null) {
+            stats.cacheHits.incrementAndGet();
+            stats.cacheBytes.addAndGet(cached.body().length);
+            route.fulfill(new Route.FulfillOptions()
+                    .setStatus(cached.status())
+                    .setHeaders(cached.headers())
+                    .setBodyBytes(cached.body()));
+            return;
+        }
+        APIResponse response = route.fetch();
+        stats.cacheMisses.incrementAndGet();
+        if (response.status() == 200 && !response.headers().getOrDefault("cache-control", "").contains("no-store")) {
+            Map<String, String> headers = new HashMap<>(response.headers());
+            headers.keySet().removeIf(name -> UNCACHEABLE_HEADERS.contains(name.toLowerCase(Locale.ROOT)));
+            cache.put(request.url(), new CachedResponse(response.status(), headers, response.body()));
+        }
+        route.fulfill(new Route.FulfillOptions().setResponse(response));
+    }
+
+    private boolean isBlocked(Request request) {
+        if (blockedTypes.contains(request.resourceType())) {
+            return true;
+        }
+        String url = request.url();
+        for (Pattern pattern : blockedUrls) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> csv(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    private static Pattern globToPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private record CachedResponse(int status, Map<String, String> headers, byte[] body) {
+    }
+
+    private static final class ResponseCache {
+        private final long maxBytes;
+        private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+        private long bytes;
+
+        ResponseCache(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized CachedResponse get(String url) {
+            return entries.get(url);
+        }
+
+        synchronized void put(String url, CachedResponse response) {
+            if (response.body().length > maxBytes / 8) {
+                return;
+            }
+            CachedResponse previous = entries.put(url, response);
+            bytes += response.body().length - (previous == null ? 0 : previous.body().length);
+            var eldest = entries.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().getValue().body().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    public static final class Stats {
+        private final AtomicLong blocked = new AtomicLong();
+        private final AtomicLong cacheHits = new AtomicLong();
+        private final AtomicLong cacheMisses = new AtomicLong();
+        private final AtomicLong cacheBytes = new AtomicLong();
+
+        // Reused contexts outlive a scenario, so each scenario drains what it accumulated.
+        public String drain() {
+            return String.format("resources: %d request(s) blocked, %d served from cache (%d KB), %d fetched",
+                    blocked.getAndSet(0), cacheHits.getAndSet(0), cacheBytes.getAndSet(0) / 1024,
+                    cacheMisses.getAndSet(0));
+        }
+    }
+}
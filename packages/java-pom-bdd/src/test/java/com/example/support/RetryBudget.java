@@ -0,0 +1,60 @@
+package com.example.support;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Outcome of every attempt of every scenario in this JVM; retries fail immediately once they have used
+// -Dretry.budget.seconds in total.
+public final class RetryBudget {
+    private static final long BUDGET_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("retry.budget.seconds", 120));
+    private static final Map<String, List<Boolean>> OUTCOMES = new ConcurrentHashMap<>();
+    private static final AtomicLong spentNanos = new AtomicLong();
+    private static final AtomicInteger retries = new AtomicInteger();
+    private static final AtomicInteger denied = new AtomicInteger();
+
+    private RetryBudget() {
+    }
+
+    // 1 for the first run of the scenario, 2 and up for retries.
+    public static int attempt(String scenarioId) {
+        return OUTCOMES.getOrDefault(scenarioId, List.of()).size() + 1;
+    }
+
+    public static boolean tryRetry() {
+        if (spentNanos.get() >= BUDGET_NANOS) {
+            denied.incrementAndGet();
+            return false;
+        }
+        retries.incrementAndGet();
+        return true;
+    }
+
+    public static void finish(String scenarioId, boolean passed, long nanos) {
+        List<Boolean> outcomes = OUTCOMES.computeIfAbsent(scenarioId, id -> new CopyOnWriteArrayList<>());
+        if (!outcomes.isEmpty()) {
+            spentNanos.addAndGet(nanos);
+        }
+        outcomes.add(passed);
+    }
+
+    public static Map<String, List<Boolean>> outcomes() {
+        return OUTCOMES;
+    }
+
+    // Empty until a scenario has been retried.
+    public static String summary() {
+        if (retries.get() + denied.get() == 0) {
+            return "";
+        }
+        long recovered = OUTCOMES.values().stream()
+                .filter(outcomes -> outcomes.size() > 1 && outcomes.get(outcomes.size() - 1))
+                .count();
+        return String.format("[RetryBudget] %d retr(ies) took %.1f s of %d s budget, %d passed on retry, %d denied",
+                retries.get(), spentNanos.get() / 1e9, TimeUnit.NANOSECONDS.toSeconds(BUDGET_NANOS), recovered, denied.get());
+    }
+}
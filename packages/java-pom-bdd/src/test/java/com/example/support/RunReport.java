@@ -0,0 +1,52 @@
+package com.example.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Events logged during the run and the end-of-run reports, written to one file
+// (-Drun.report.file, target/run-report.txt by default) instead of the console.
+public final class RunReport {
+    private static final Path FILE = Paths.get(System.getProperty("run.report.file", "target/run-report.txt"));
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final Queue<String> EVENTS = new ConcurrentLinkedQueue<>();
+    private static boolean written;
+
+    private RunReport() {
+    }
+
+    public static void event(String format, Object... args) {
+        EVENTS.add(LocalTime.now().format(TIME) + " " + String.format(format, args));
+    }
+
+    // Appends the events so far and the non-empty reports; the first call in the JVM replaces the file.
+    public static synchronized void write(List<String> reports) {
+        StringBuilder text = new StringBuilder("== Execution finished " + LocalDateTime.now().withNano(0) + " ==\n");
+        String event;
+        while ((event = EVENTS.poll()) != null) {
+            text.append(event).append('\n');
+        }
+        reports.stream().filter(report -> !report.isEmpty()).forEach(report -> text.append(report).append('\n'));
+        try {
+            if (FILE.getParent() != null) {
+                Files.createDirectories(FILE.getParent());
+            }
+            Files.writeString(FILE, text, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    written ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + FILE, e);
+        }
+        written = true;
+        System.out.println("[RunReport] " + FILE.toAbsolutePath());
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.support;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-scenario count and duration of the event-driven waits. There is no "saved" figure: settle calls
+// do not map one-to-one onto the fixed sleeps they replaced.
+public final class SettleStats {
+    private static final ThreadLocal<SettleStats> CURRENT = ThreadLocal.withInitial(SettleStats::new);
+
+    private int settles;
+    private long settleNanos;
+    private long longestNanos;
+
+    private SettleStats() {
+    }
+
+    public static void record(long settleNanos) {
+        SettleStats stats = CURRENT.get();
+        stats.settles++;
+        stats.settleNanos += settleNanos;
+        stats.longestNanos = Math.max(stats.longestNanos, settleNanos);
+        Timings.record(Timings.Bucket.SETTLE, settleNanos);
+    }
+
+    public static void reset() {
+        CURRENT.remove();
+    }
+
+    public static String summary() {
+        SettleStats stats = CURRENT.get();
+        return String.format("settle: %d wait(s) took %d ms in total (longest %d ms)", stats.settles,
+                TimeUnit.NANOSECONDS.toMillis(stats.settleNanos), TimeUnit.NANOSECONDS.toMillis(stats.longestNanos));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.support;
+
+public final class ShopTodo {
+    public static final String DEMO_USER = "demo";
+    public static final String DEMO_PASSWORD = "Demo@2025!";
+
+    public static final SiteSnapshot SNAPSHOT = new SiteSnapshot("shoptodo", "https://toasagi.github.io/");
+
+    private static final String HOME_PATH = "/shoptodo-app/";
+    private static final String HOME_URL = System.getProperty("shoptodo.url", "https://toasagi.github.io" + HOME_PATH);
+
+    private ShopTodo() {
+    }
+
+    public static String homeUrl() {
+        if (SiteMode.current() == SiteMode.LOCAL) {
+            return LocalSiteServer.forSnapshot(SNAPSHOT).url(HOME_PATH);
+        }
+        return HOME_URL;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.support;
+
+import java.util.Locale;
+
+public enum SiteMode {
+    // Talk to the real sites.
+    LIVE,
+    // Talk to the real sites and refresh the HAR snapshots on disk.
+    RECORD,
+    // Serve every request from the HAR snapshots; nothing leaves the machine.
+    REPLAY,
+    // Serve the app from LocalSiteServer on loopback and everything else from the HAR snapshots.
+    LOCAL;
+
+    public static SiteMode current() {
+        return valueOf(System.getProperty("site.mode", "live").toUpperCase(Locale.ROOT));
+    }
+}
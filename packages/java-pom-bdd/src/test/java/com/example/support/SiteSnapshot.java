@@ -0,0 +1,196 @@
+package com.example.support;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.HarMode;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// A recorded HAR of one site under src/test/resources/snapshots/<name>/; in record mode every context
+// records a part file and finishRecording() merges the parts into <name>.har.
+public final class SiteSnapshot {
+    private static final Path DIR = Paths.get(System.getProperty("site.snapshots", "src/test/resources/snapshots"));
+    private static final Pattern NOT_LOOPBACK = Pattern.compile("^(?!https?://(127\\.0\\.0\\.1|localhost)[:/])");
+    // Parts carry the pid so that JVMs recording at the same time (shards) only merge their own.
+    private static final String PART_PREFIX = ".part-" + ProcessHandle.current().pid() + "-";
+
+    private final String name;
+    private final String origin;
+    private final AtomicInteger parts = new AtomicInteger();
+    // Set once this JVM has replaced the snapshot; later merges (after reruns) add to it.
+    private boolean merged;
+
+    public SiteSnapshot(String name, String origin) {
+        this.name = name;
+        this.origin = origin;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String origin() {
+        return origin;
+    }
+
+    public Path har() {
+        return DIR.resolve(name).resolve(name + ".har");
+    }
+
+    public void attach(BrowserContext context) {
+        switch (SiteMode.current()) {
+            case LIVE -> {
+            }
+            case RECORD -> {
+                try {
+                    Files.createDirectories(har().getParent());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                Path part = har().resolveSibling(name + PART_PREFIX + parts.incrementAndGet() + ".har");
+                context.routeFromHAR(part, new BrowserContext.RouteFromHAROptions()
+                        .setUpdate(true)
+                        .setUpdateContent(RouteFromHarUpdateContentPolicy.ATTACH)
+                        .setUpdateMode(HarMode.MINIMAL));
+            }
+            case REPLAY -> context.routeFromHAR(requireHar(), new BrowserContext.RouteFromHAROptions()
+                    .setNotFound(HarNotFound.ABORT));
+            case LOCAL -> context.routeFromHAR(requireHar(), new BrowserContext.RouteFromHAROptions()
+                    .setUrl(NOT_LOOPBACK)
+                    .setNotFound(HarNotFound.ABORT));
+        }
+    }
+
+    Path requireHar() {
+        if (!Files.isRegularFile(har())) {
+            throw new IllegalStateException("No snapshot for " + name + " at " + har().toAbsolutePath()
+                    + "; record one with -Dsite.mode=record");
+        }
+        return har();
+    }
+
+    // Merges the part files of the contexts closed so far into <name>.har. Entries for the same request
+    // keep the latest response. Call after the recording contexts are closed; no-op outside record mode.
+    public synchronized void finishRecording() {
+        if (SiteMode.current() != SiteMode.RECORD) {
+            return;
+        }
+        Path dir = har().getParent();
+        List<Path> partFiles;
+        try (Stream<Path> files = Files.list(dir)) {
+            partFiles = files.filter(file -> file.getFileName().toString().startsWith(name + PART_PREFIX))
+                    .sorted(Comparator.comparingInt(this::partNumber))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list " + dir, e);
+        }
+        if (partFiles.isEmpty()) {
+            return;
+        }
+        JsonObject log = null;
+        Map<String, JsonElement> entries = new LinkedHashMap<>();
+        if (merged && Files.isRegularFile(har())) {
+            log = readLog(har());
+            addEntries(entries, log);
+        }
+        for (Path partFile : partFiles) {
+            JsonObject partLog = readLog(partFile);
+            if (log == null) {
+                log = partLog;
+            }
+            addEntries(entries, partLog);
+        }
+        JsonArray mergedEntries = new JsonArray();
+        entries.values().forEach(mergedEntries::add);
+        log.add("entries", mergedEntries);
+        JsonObject root = new JsonObject();
+        root.add("log", log);
+        try {
+            Path tmp = har().resolveSibling(name + ".har.tmp");
+            Files.writeString(tmp, root.toString(), StandardCharsets.UTF_8);
+            Files.move(tmp, har(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            for (Path partFile : partFiles) {
+                Files.delete(partFile);
+            }
+            this.merged = true;
+            int pruned = pruneAttachments(dir, mergedEntries);
+            System.out.printf("[Snapshot] %s: merged %d context recording(s) into %d entries (%d unused attachment(s) removed) -> %s%n",
+                    name, partFiles.size(), entries.size(), pruned, har());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + har(), e);
+        }
+    }
+
+    private int partNumber(Path partFile) {
+        String fileName = partFile.getFileName().toString();
+        return Integer.parseInt(fileName.substring((name + PART_PREFIX).length(), fileName.length() - ".har".length()));
+    }
+
+    private static JsonObject readLog(Path file) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return JsonParser.parseReader(reader).getAsJsonObject().getAsJsonObject("log");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+    }
+
+    // Keyed like Playwright matches them on replay: method, URL and request body.
+    private static void addEntries(Map<String, JsonElement> entries, JsonObject log) {
+        for (JsonElement element : log.getAsJsonArray("entries")) {
+            JsonObject request = element.getAsJsonObject().getAsJsonObject("request");
+            JsonElement postData = request.has("postData") ? request.getAsJsonObject("postData").get("text") : null;
+            String key = request.get("method").getAsString() + " " + request.get("url").getAsString()
+                    + (postData == null || postData.isJsonNull() ? "" : " " + postData.getAsString());
+            entries.remove(key);
+            entries.put(key, element);
+        }
+    }
+
+    // Bodies of responses that are no longer in the snapshot. Skipped while other JVMs still have parts here.
+    private int pruneAttachments(Path dir, JsonArray entries) throws IOException {
+        Set<String> referenced = new HashSet<>();
+        for (JsonElement entry : entries) {
+            JsonObject content = entry.getAsJsonObject().getAsJsonObject("response").getAsJsonObject("content");
+            if (content.has("_file")) {
+                referenced.add(content.get("_file").getAsString());
+            }
+        }
+        List<Path> unused;
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> all = files.toList();
+            if (all.stream().anyMatch(file -> file.getFileName().toString().startsWith(name + ".part-"))) {
+                return 0;
+            }
+            unused = all.stream()
+                    .filter(file -> !file.getFileName().toString().endsWith(".har"))
+                    .filter(file -> !file.getFileName().toString().startsWith("."))
+                    .filter(file -> !referenced.contains(file.getFileName().toString()))
+                    .toList();
+        }
+        for (Path file : unused) {
+            Files.delete(file);
+        }
+        return unused.size();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+// Captured browser state (as a string) shared by all workers and kept as one file per key under dir,
+// so later runs within the TTL reuse it too. Used by AuthStateCache and StateSeeder.
+final class StateFileCache {
+    private final Path dir;
+    private final Duration ttl;
+    private final Predicate<String> isValid;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+    private record Entry(String content, Instant capturedAt) {
+    }
+
+    // isValid checks content read back from disk; files it refuses are treated as missing.
+    StateFileCache(Path dir, Duration ttl, Predicate<String> isValid) {
+        this.dir = dir;
+        this.ttl = ttl;
+        this.isValid = isValid;
+    }
+
+    Optional<String> get(String id) {
+        String key = key(id);
+        if (rejected.contains(key)) {
+            return Optional.empty();
+        }
+        Entry entry = entries.computeIfAbsent(key, this::load);
+        if (entry == null || entry.capturedAt().plus(ttl).isBefore(Instant.now())) {
+            invalidate(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.content());
+    }
+
+    void put(String id, String content) {
+        String key = key(id);
+        if (rejected.contains(key)) {
+            return;
+        }
+        entries.put(key, new Entry(content, Instant.now()));
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, key, ".tmp");
+            Files.writeString(tmp, content, StandardCharsets.UTF_8);
+            Files.move(tmp, file(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to persist " + id + " under " + dir, e);
+        }
+    }
+
+    // Drops the entry and keeps it out of the cache for the rest of the run.
+    void reject(String id) {
+        String key = key(id);
+        rejected.add(key);
+        invalidate(key);
+    }
+
+    boolean isRejected(String id) {
+        return rejected.contains(key(id));
+    }
+
+    int rejectedCount() {
+        return rejected.size();
+    }
+
+    private void invalidate(String key) {
+        entries.remove(key);
+        try {
+            Files.deleteIfExists(file(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete " + file(key), e);
+        }
+    }
+
+    private Entry load(String key) {
+        Path file = file(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            String content = Files.readString(file, StandardCharsets.UTF_8);
+            return isValid.test(content) ? new Entry(content, Files.getLastModifiedTime(file).toInstant()) : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private Path file(String key) {
+        return dir.resolve(key + ".json");
+    }
+
+    private static String key(String id) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(id.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
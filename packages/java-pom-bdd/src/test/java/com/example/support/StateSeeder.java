@@ -0,0 +1,110 @@
+package com.example.support;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Starts scenarios from a declared AppState by writing its captured web storage before the app loads,
+// falling back to the UI when the app ignores it.
+public final class StateSeeder {
+    // Set in sessionStorage so reloads within the scenario keep the app's own changes (e.g. a removed item).
+    private static final String SEEDED_MARKER = "__app_state_seeded__";
+    private static final String CAPTURE_SCRIPT = """
+            marker => {
+              const dump = storage => Object.fromEntries(Object.keys(storage)
+                  .filter(key => key !== marker).map(key => [key, storage.getItem(key)]));
+              return JSON.stringify({ origin: location.origin, local: dump(localStorage), session: dump(sessionStorage) });
+            }
+            """;
+    private static final String SEED_SCRIPT = """
+            (snapshot => {
+              if (location.origin !== snapshot.origin || sessionStorage.getItem(%s)) return;
+              for (const [key, value] of Object.entries(snapshot.local)) localStorage.setItem(key, value);
+              for (const [key, value] of Object.entries(snapshot.session)) sessionStorage.setItem(key, value);
+              sessionStorage.setItem(%s, '1');
+            })(%s);
+            """;
+    private static final String CLEAR_SCRIPT = """
+            marker => {
+              localStorage.clear();
+              Object.keys(sessionStorage).filter(key => key !== marker).forEach(key => sessionStorage.removeItem(key));
+            }
+            """;
+    private static final StateFileCache SNAPSHOTS = new StateFileCache(
+            Paths.get(System.getProperty("app.state.dir", "target/app-state")),
+            Duration.ofMinutes(Long.getLong("app.state.ttl.minutes", 30)),
+            StateSeeder::isSnapshot);
+    private static final Set<String> VERIFIED = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger seeded = new AtomicInteger();
+    private static final AtomicInteger built = new AtomicInteger();
+
+    private StateSeeder() {
+    }
+
+    // Adds the init script for state to the context; false when there is no usable snapshot yet and
+    // the caller has to build the state through the UI (and capture it afterwards).
+    public static boolean seed(BrowserContext context, AppState state, String baseUrl) {
+        Optional<String> snapshot = SNAPSHOTS.get(key(state, baseUrl));
+        if (snapshot.isEmpty()) {
+            return false;
+        }
+        Gson gson = new Gson();
+        context.addInitScript(String.format(SEED_SCRIPT, gson.toJson(SEEDED_MARKER), gson.toJson(SEEDED_MARKER), snapshot.get()));
+        seeded.incrementAndGet();
+        return true;
+    }
+
+    // True when the seeded state of this key still has to be checked against the page in this run.
+    public static boolean needsVerification(AppState state, String baseUrl) {
+        return !VERIFIED.contains(key(state, baseUrl));
+    }
+
+    public static void verified(AppState state, String baseUrl) {
+        VERIFIED.add(key(state, baseUrl));
+    }
+
+    // Drops the snapshot for the rest of the run and clears what was seeded into page (keeping the
+    // marker, so the init script does not seed it again), ready for the UI path.
+    public static void reject(Page page, AppState state, String baseUrl) {
+        SNAPSHOTS.reject(key(state, baseUrl));
+        page.evaluate(CLEAR_SCRIPT, SEEDED_MARKER);
+        RunReport.event("[StateSeeder] Seeded state not taken up by the app, building it through the UI from now on: %s", state);
+    }
+
+    // Call on the page once the UI has built state.
+    public static void capture(Page page, AppState state, String baseUrl) {
+        built.incrementAndGet();
+        String key = key(state, baseUrl);
+        if (SNAPSHOTS.isRejected(key)) {
+            return;
+        }
+        SNAPSHOTS.put(key, (String) page.evaluate(CAPTURE_SCRIPT, SEEDED_MARKER));
+    }
+
+    // Empty when no scenario declared a state.
+    public static String report() {
+        if (seeded.get() + built.get() == 0) {
+            return "";
+        }
+        return String.format("[StateSeeder] %d scenario(s) started from seeded storage, %d built their state through the UI%s",
+                seeded.get(), built.get(), SNAPSHOTS.rejectedCount() == 0 ? "" : ", " + SNAPSHOTS.rejectedCount() + " state(s) rejected");
+    }
+
+    private static boolean isSnapshot(String json) {
+        JsonObject snapshot = JsonParser.parseString(json).getAsJsonObject();
+        return snapshot.has("origin") && snapshot.has("local") && snapshot.has("session");
+    }
+
+    private static String key(AppState state, String baseUrl) {
+        return state + "@" + baseUrl;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.support;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Latency of the Playwright calls that dominate scenario time, reported by TimingPlugin next to steps and hooks.
+public final class Timings {
+    public enum Bucket {
+        LAUNCH("browser launch"),
+        CONTEXT("context creation"),
+        NAVIGATION("navigation"),
+        SETTLE("settle");
+
+        private final String label;
+
+        Bucket(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    private static final Map<Bucket, LatencyHistogram> HISTOGRAMS = new EnumMap<>(Bucket.class);
+
+    static {
+        for (Bucket bucket : Bucket.values()) {
+            HISTOGRAMS.put(bucket, new LatencyHistogram());
+        }
+    }
+
+    private Timings() {
+    }
+
+    public static void record(Bucket bucket, long nanos) {
+        HISTOGRAMS.get(bucket).recordNanos(nanos);
+    }
+
+    public static LatencyHistogram histogram(Bucket bucket) {
+        return HISTOGRAMS.get(bucket);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.support;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Screenshot baselines for the Java side of toHaveScreenshot, decoded and tile hashed once per JVM.
+// -Dvisual.update=true writes missing baselines; mismatches are written to target/visual-diff/.
+public final class VisualBaselines {
+    private static final Path DIR = Paths.get(System.getProperty("visual.baselines", "src/test/resources/visual-baselines"));
+    private static final Path DIFF_DIR = Paths.get("target/visual-diff");
+    private static final boolean UPDATE = Boolean.getBoolean("visual.update");
+    public static final double THRESHOLD = Double.parseDouble(System.getProperty("visual.threshold", "0.1"));
+    private static final String PLATFORM = platform();
+    private static final Map<String, ImageDiff.Image> CACHE = new ConcurrentHashMap<>();
+    private static final AtomicInteger compared = new AtomicInteger();
+    private static final AtomicInteger written = new AtomicInteger();
+    private static final AtomicInteger mismatched = new AtomicInteger();
+    private static final AtomicInteger missing = new AtomicInteger();
+    private static final AtomicLong compareNanos = new AtomicLong();
+
+    // diff is null when the baseline was written by this check, or was missing (then actual is set).
+    public record Check(String name, Path baseline, int maxDiffPixels, ImageDiff.Result diff, Path actual,
+                        Path diffImage) {
+        public boolean matches() {
+            if (diff == null) {
+                return actual == null;
+            }
+            return !diff.sizeMismatch() && diff.diffPixels() <= maxDiffPixels;
+        }
+
+        public String describe() {
+            if (diff == null) {
+                return actual == null ? name + ": baseline written"
+                        : name + ": no baseline at " + baseline + ", actual " + actual
+                        + " (run with -Dvisual.update=true to accept it)";
+            }
+            String result = name + ": " + diff + " (" + maxDiffPixels + " allowed)";
+            return actual == null ? result : result + ", actual " + actual + ", diff " + diffImage;
+        }
+    }
+
+    private VisualBaselines() {
+    }
+
+    public static Check check(String name, byte[] screenshot, int maxDiffPixels) {
+        Path baseline = DIR.resolve(name + "-" + PLATFORM + ".png");
+        ImageDiff.Image actual = ImageDiff.Image.decode(screenshot);
+        ImageDiff.Image expected = baseline(baseline);
+        if (expected == null && UPDATE) {
+            write(baseline, screenshot);
+            CACHE.put(baseline.toString(), actual);
+            written.incrementAndGet();
+            RunReport.event("[VisualBaselines] Wrote baseline %s", baseline);
+            return new Check(name, baseline, maxDiffPixels, null, null, null);
+        }
+        if (expected == null) {
+            missing.incrementAndGet();
+            Path actualFile = DIFF_DIR.resolve(name + "-actual.png");
+            write(actualFile, screenshot);
+            return new Check(name, baseline, maxDiffPixels, null, actualFile, null);
+        }
+        ImageDiff.Result diff = ImageDiff.compare(expected, actual, THRESHOLD);
+        compared.incrementAndGet();
+        compareNanos.addAndGet(diff.nanos());
+        Check check = new Check(name, baseline, maxDiffPixels, diff, null, null);
+        if (check.matches()) {
+            return check;
+        }
+        if (UPDATE) {
+            write(baseline, screenshot);
+            CACHE.put(baseline.toString(), actual);
+            written.incrementAndGet();
+            RunReport.event("[VisualBaselines] Updated baseline %s: %s", baseline, diff);
+            return new Check(name, baseline, maxDiffPixels, null, null, null);
+        }
+        mismatched.incrementAndGet();
+        Path actualFile = DIFF_DIR.resolve(name + "-actual.png");
+        Path diffFile = DIFF_DIR.resolve(name + "-diff.png");
+        write(actualFile, screenshot);
+        writeImage(diffFile, ImageDiff.diffImage(expected, actual, THRESHOLD));
+        return new Check(name, baseline, maxDiffPixels, diff, actualFile, diffFile);
+    }
+
+    // Empty when nothing was checked.
+    public static String report() {
+        if (compared.get() == 0 && written.get() == 0 && missing.get() == 0) {
+            return "";
+        }
+        return String.format("[VisualBaselines] %d screenshot(s) compared in %.1f ms in total, %d mismatched, "
+                        + "%d without a baseline, %d baseline(s) written",
+                compared.get(), compareNanos.get() / 1e6, mismatched.get(), missing.get(), written.get());
+    }
+
+    private static ImageDiff.Image baseline(Path file) {
+        if (UPDATE && !Files.isRegularFile(file)) {
+            return null;
+        }
+        return CACHE.computeIfAbsent(file.toString(), key -> {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            try {
+                return ImageDiff.Image.decode(Files.readAllBytes(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read baseline " + file, e);
+            }
+        });
+    }
+
+    // Written to a temp file first so a parallel worker never reads half a baseline.
+    private static void write(Path file, byte[] png) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(tmp, png);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file, e);
+        }
+    }
+
+    private static void writeImage(Path file, BufferedImage image) {
+        try {
+            Files.createDirectories(file.getParent());
+            ImageIO.write(image, "png", file.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + file, e);
+        }
+    }
+
+    private static String platform() {
+        String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+        if (os.contains("win")) {
+            return "win32";
+        }
+        return os.contains("mac") ? "darwin" : "linux";
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.support;
+
+import com.google.gson.GsonBuilder;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+// Navigation Timing, paint / LCP, CLS and long tasks for every document the scenarios load, pushed from
+// an init script through a binding and aggregated per URL path.
+public final class WebVitals {
+    public static final boolean ENABLED = !"off".equals(System.getProperty("web.vitals"));
+    private static final Path FILE = Paths.get("target/web-vitals.json");
+    private static final String BINDING = "__reportWebVitals";
+    private static final String SNAPSHOT_FUNCTION = "__webVitalsSnapshot";
+    private static final String INIT_SCRIPT = """
+            (() => {
+              if (window !== window.top || window.%1$s) return;
+              const state = { fcp: null, lcp: null, cls: 0, longTasks: 0, longTaskMs: 0 };
+              let timer = null;
+              const snapshot = () => {
+                const nav = performance.getEntriesByType('navigation')[0];
+                return Object.assign({
+                  url: location.href,
+                  path: location.pathname,
+                  timeOrigin: performance.timeOrigin,
+                  ttfb: nav ? nav.responseStart : null,
+                  dcl: nav && nav.domContentLoadedEventEnd > 0 ? nav.domContentLoadedEventEnd : null,
+                  load: nav && nav.loadEventEnd > 0 ? nav.loadEventEnd : null
+                }, state);
+              };
+              const report = () => {
+                clearTimeout(timer);
+                timer = null;
+                if (location.protocol.startsWith('http') && window.%2$s) window.%2$s(snapshot()).catch(() => {});
+              };
+              const schedule = () => {
+                if (document.readyState === 'complete' && timer === null) timer = setTimeout(report, 250);
+              };
+              const observe = (type, onEntry) => {
+                try {
+                  new PerformanceObserver(list => { list.getEntries().forEach(onEntry); schedule(); })
+                      .observe({ type, buffered: true });
+                } catch (e) {
+                  // Entry type not supported by this browser.
+                }
+              };
+              observe('paint', entry => { if (entry.name === 'first-contentful-paint') state.fcp = entry.startTime; });
+              observe('largest-contentful-paint', entry => { state.lcp = entry.renderTime || entry.loadTime || entry.startTime; });
+              observe('layout-shift', entry => { if (!entry.hadRecentInput) state.cls += entry.value; });
+              observe('longtask', entry => { state.longTasks++; state.longTaskMs += entry.duration; });
+              window.%1$s = snapshot;
+              addEventListener('load', () => setTimeout(report, 0));
+              addEventListener('pagehide', report);
+            })();
+            """.formatted(SNAPSHOT_FUNCTION, BINDING);
+    private static final String READ_SCRIPT = "() => window." + SNAPSHOT_FUNCTION + " ? window." + SNAPSHOT_FUNCTION + "() : null";
+    private static final Map<BrowserContext, Documents> CONTEXTS = new ConcurrentHashMap<>();
+    private static final Map<String, Map<Metric, LatencyHistogram>> BY_PATH = new ConcurrentHashMap<>();
+
+    public enum Metric {
+        TTFB("ttfb", Sample::ttfb),
+        FCP("fcp", Sample::fcp),
+        LCP("lcp", Sample::lcp),
+        DCL("dcl", Sample::dcl),
+        LOAD("load", Sample::load),
+        CLS("cls", Sample::cls),
+        // Total duration of the long tasks, not their number.
+        LONG_TASK_MS("long-task-ms", Sample::longTaskMs);
+
+        private final String key;
+        private final ToDoubleFunction<Sample> value;
+
+        Metric(String key, ToDoubleFunction<Sample> value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        // NaN when the browser did not report it.
+        public double of(Sample sample) {
+            return value.applyAsDouble(sample);
+        }
+
+        public String format(double value) {
+            return this == CLS ? String.format("%.3f", value) : String.format("%.0f ms", value);
+        }
+
+        public static Metric of(String key) {
+            String normalized = key.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+            for (Metric metric : values()) {
+                if (metric.key.equals(normalized)) {
+                    return metric;
+                }
+            }
+            throw new IllegalArgumentException("Unknown metric: " + key + " (known: ttfb, fcp, lcp, dcl, load, cls, long-task-ms)");
+        }
+    }
+
+    // One document. Times are ms from navigation start, NaN when unknown; cls is unitless.
+    public record Sample(String url, String path, double timeOrigin, double ttfb, double fcp, double lcp, double dcl,
+                         double load, double cls, int longTasks, double longTaskMs) {
+
+        static Sample fromMap(Map<?, ?> map) {
+            return new Sample((String) map.get("url"), (String) map.get("path"), number(map.get("timeOrigin")),
+                    number(map.get("ttfb")), number(map.get("fcp")), number(map.get("lcp")), number(map.get("dcl")),
+                    number(map.get("load")), number(map.get("cls")), (int) number(map.get("longTasks")),
+                    number(map.get("longTaskMs")));
+        }
+
+        // The URL can change within a document (history.pushState), its time origin cannot.
+        String key() {
+            return Double.toString(timeOrigin);
+        }
+
+        private static double number(Object value) {
+            return value instanceof Number number ? number.doubleValue() : Double.NaN;
+        }
+    }
+
+    // Latest sample per document of one context, and the documents already counted in a finished scenario.
+    private static final class Documents {
+        final Map<String, Sample> open = new ConcurrentHashMap<>();
+        final Set<String> finished = ConcurrentHashMap.newKeySet();
+    }
+
+    private WebVitals() {
+    }
+
+    public static void install(BrowserContext context) {
+        if (!ENABLED) {
+            return;
+        }
+        Documents documents = new Documents();
+        CONTEXTS.put(context, documents);
+        context.onClose(CONTEXTS::remove);
+        context.exposeBinding(BINDING, (source, args) -> {
+            if (args.length > 0 && args[0] instanceof Map<?, ?> map) {
+                Sample sample = Sample.fromMap(map);
+                if (!documents.finished.contains(sample.key())) {
+                    documents.open.put(sample.key(), sample);
+                }
+            }
+            return null;
+        });
+        context.addInitScript(INIT_SCRIPT);
+    }
+
+    // The current document of the page, read now.
+    public static Sample current(Page page) {
+        Object result = page.evaluate(READ_SCRIPT);
+        if (!(result instanceof Map<?, ?> map)) {
+            throw new IllegalStateException("No performance data for " + page.url() + " (is -Dweb.vitals=off?)");
+        }
+        return Sample.fromMap(map);
+    }
+
+    // Documents loaded in the context since the last finish, with the open pages read once more.
+    private static List<Sample> seen(BrowserContext context) {
+        Documents documents = CONTEXTS.get(context);
+        if (documents == null) {
+            return List.of();
+        }
+        for (Page page : context.pages()) {
+            try {
+                Object result = page.evaluate(READ_SCRIPT);
+                if (result instanceof Map<?, ?> map && String.valueOf(map.get("url")).startsWith("http")) {
+                    Sample sample = Sample.fromMap(map);
+                    documents.open.put(sample.key(), sample);
+                }
+            } catch (PlaywrightException e) {
+                // The page is closing or navigating; its last pushed sample is used.
+            }
+        }
+        return new ArrayList<>(documents.open.values());
+    }
+
+    // Call once per scenario: adds its documents to the per-path statistics and returns them.
+    public static List<Sample> finish(BrowserContext context) {
+        Documents documents = CONTEXTS.get(context);
+        List<Sample> samples = seen(context);
+        for (Sample sample : samples) {
+            Map<Metric, LatencyHistogram> histograms = BY_PATH.computeIfAbsent(sample.path(), path -> newHistograms());
+            for (Metric metric : Metric.values()) {
+                double value = metric.of(sample);
+                if (!Double.isNaN(value)) {
+                    // CLS is recorded in thousandths so percentileMillis() reads back the score itself.
+                    histograms.get(metric).record(Math.round(value * 1000));
+                }
+            }
+            if (documents != null) {
+                documents.finished.add(sample.key());
+                documents.open.remove(sample.key());
+            }
+        }
+        return samples;
+    }
+
+    // Empty when nothing was captured. Also writes target/web-vitals.json.
+    public static String report() {
+        if (BY_PATH.isEmpty()) {
+            return "";
+        }
+        Map<String, Object> json = new TreeMap<>();
+        StringBuilder report = new StringBuilder("[WebVitals] p50 / p95 per page:");
+        new TreeMap<>(BY_PATH).forEach((path, histograms) -> {
+            long documents = histograms.get(Metric.TTFB).count();
+            report.append(String.format("%n  %s (%d document(s))", path, documents));
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            for (Metric metric : Metric.values()) {
+                LatencyHistogram histogram = histograms.get(metric);
+                if (histogram.count() == 0) {
+                    continue;
+                }
+                double p50 = histogram.percentileMillis(50);
+                double p95 = histogram.percentileMillis(95);
+                report.append(String.format(" %s %s / %s", metric.key(), metric.format(p50), metric.format(p95)));
+                metrics.put(metric.key(), Map.of("count", histogram.count(), "p50", p50, "p95", p95,
+                        "max", histogram.maxMillis()));
+            }
+            json.put(path, metrics);
+        });
+        try {
+            Files.createDirectories(FILE.getParent());
+            Files.writeString(FILE, new GsonBuilder().setPrettyPrinting().create().toJson(json), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + FILE, e);
+        }
+        return report.toString();
+    }
+
+    private static Map<Metric, LatencyHistogram> newHistograms() {
+        Map<Metric, LatencyHistogram> histograms = new EnumMap<>(Metric.class);
+        for (Metric metric : Metric.values()) {
+            histograms.put(metric, new LatencyHistogram());
+        }
+        return histograms;
+    }
+}
@@ -8,21 +8,21 @@ Feature: カートに追加機能
   Background:
     Given ShopTodoのホームページを開く
 
-  @positive
+  @positive @logged-in
   Scenario: ログイン後に商品をカートに追加できる
     Given ログイン済みである
     When "スマートフォン"をカートに追加する
     Then カートに商品が1件ある
     And カートの合計が0円より大きい
 
-  @positive
+  @positive @logged-in
   Scenario: 複数商品をカートに追加できる
     Given ログイン済みである
     When "スマートフォン"をカートに追加する
     And "Tシャツ"をカートに追加する
     Then カートに商品が2件ある
 
-  @positive
+  @positive @logged-in
   Scenario: カートの合計が正しく計算される
     Given ログイン済みである
     When "Tシャツ"をカートに追加する
@@ -1,14 +1,14 @@
 
 
-@cart @cart-management
+@cart @cart-management @logged-in
 Feature: カート管理機能
 
   カート内の商品を管理できることを確認する
 
   Background:
-    Given ShopTodoのホームページを開く
-    And ログイン済みである
-    And "スマートフォン"をカートに追加する
+    Given 次の状態でShopTodoのホームページを開く:
+      | ユーザー | demo           |
+      | カート   | スマートフォン |
 
   @positive
   Scenario: カートから商品を削除できる
@@ -1,6 +1,6 @@
 
 
-@catalog @product-list
+@catalog @product-list @reuse-context
 Feature: 商品一覧機能
 
   商品カタログが正しく表示されることを確認する
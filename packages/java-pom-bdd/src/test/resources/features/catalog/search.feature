@@ -1,6 +1,6 @@
 
 
-@catalog @search
+@catalog @search @reuse-context
 Feature: 商品検索機能
 
   商品を検索できることを確認する
@@ -1,6 +1,6 @@
 
 
-@common @language
+@common @language @reuse-context
 Feature: 言語切替機能
 
   言語を切り替えられることを確認する
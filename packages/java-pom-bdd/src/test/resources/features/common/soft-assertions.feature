@@ -0,0 +1,34 @@
+@common @soft-assertions
+Feature: 複数要素の一括検証
+
+  複数の要素をまとめて検証し、失敗した要素をすべて報告することを確認する
+
+  Background:
+    Given ShopTodoのホームページを開く
+
+  @positive
+  Scenario: 複数要素を一括検証（すべて成功）
+    Then 以下の要素がすべて正しく表示される（Soft Assertions）
+      | 要素         |
+      | ヘッダー     |
+      | 商品カタログ |
+      | カテゴリタブ |
+      | 検索ボックス |
+
+  @positive @logged-in
+  Scenario: ログイン後の複数要素を一括検証
+    Given ログイン済みである
+    Then ログイン後の以下の要素がすべて正しく表示される（Soft Assertions）
+      | 要素             |
+      | ログアウトボタン |
+      | カート           |
+      | 商品一覧         |
+
+  @positive
+  Scenario: 商品カード内の複数要素を検証
+    Then 商品カードに以下の要素が含まれる（Soft Assertions）
+      | 要素               |
+      | 商品画像           |
+      | 商品名             |
+      | 価格               |
+      | カートに追加ボタン |
@@ -0,0 +1,25 @@
+@performance @budget-cls=0.1
+Feature: 表示性能
+
+  ページの表示性能（Navigation Timing・LCP・CLS・Long Tasks）が予算内であることを確認する
+  予算で失敗させるのは replay / local モードのときだけで、実サイトでは超えた指標をログに出す
+
+  @positive @budget-lcp=4000
+  Scenario: ホームページの表示性能が予算内である
+    Given ShopTodoのホームページを開く
+    Then ページの性能が予算内である:
+      | ttfb | 1500 |
+      | fcp  | 3000 |
+      | lcp  | 4000 |
+
+  @positive
+  Scenario: 検索操作でレイアウトシフトや長いタスクが増えない
+    Given 性能予算を設定する:
+      | load         | 5000 |
+      | long-task-ms | 500  |
+    And ShopTodoのホームページを開く
+    When "スマートフォン"で検索する
+    Then 商品が表示される
+    And ページの性能が予算内である:
+      | cls          | 0.1 |
+      | long-task-ms | 500 |
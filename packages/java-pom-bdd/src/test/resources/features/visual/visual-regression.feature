@@ -0,0 +1,22 @@
+@visual
+Feature: ビジュアルリグレッションテスト
+
+  画面のスクリーンショットがベースライン画像と一致することを確認する
+  ベースライン画像は -Dvisual.update=true で生成する（ない場合は失敗する）
+  ベースライン画像がコミットされるまでは既定の実行から除外し、-Dcucumber.filter.tags="@visual" で実行する
+
+  Background:
+    Given ShopTodoのホームページを開く
+
+  @positive
+  Scenario: 商品カタログ画面のスクリーンショット比較
+    Then 商品カタログ画面のスクリーンショットが一致する
+
+  @positive
+  Scenario: ログインダイアログのスクリーンショット比較
+    When ログインボタンをクリックする
+    Then ログインダイアログのスクリーンショットが一致する
+
+  @positive
+  Scenario: ヘッダーコンポーネントのスクリーンショット比較
+    Then ヘッダーのスクリーンショットが一致する